@@ -0,0 +1,109 @@
+#!/usr/bin/env bash
+#
+# Сравнение времени старта: обычный запуск jar, Spring AOT + CDS и (если собран) native image
+# Для каждого варианта приложение запускается RUNS раз; измеряется время от запуска процесса
+# до первого успешного ответа на URL_PATH и RSS процесса сразу после этого ответа.
+#
+# Подготовка (нужна запущенная БД из application.properties или параметры подключения в APP_ARGS):
+#   mvn -P aot-cds -DskipTests package            # target/cds: jar, lib/, application.jsa
+#   mvn -P native -DskipTests native:compile      # необязательно: target/credit-system (GraalVM)
+#
+# Запуск:
+#   scripts/startup-benchmark.sh
+#   RUNS=10 URL_PATH=/applications APP_ARGS="--spring.datasource.url=jdbc:postgresql://db:5432/credit_db" scripts/startup-benchmark.sh
+#
+# Результаты каждого запуска сохраняются в target/startup-benchmark.csv
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+URL_PATH=${URL_PATH:-/}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+CDS_DIR=${CDS_DIR:-target/cds}
+NATIVE_IMAGE=${NATIVE_IMAGE:-target/credit-system}
+JAVA=${JAVA:-java}
+APP_ARGS=${APP_ARGS:-}
+RESULT_FILE=${RESULT_FILE:-target/startup-benchmark.csv}
+LOG_FILE=$PWD/target/startup-benchmark.log
+
+JAR=$(cd "$CDS_DIR" 2>/dev/null && ls *.jar 2>/dev/null | head -n 1 || true)
+if [[ -z "$JAR" || ! -f "$CDS_DIR/application.jsa" ]]; then
+    echo "❌ Не найден $CDS_DIR/*.jar или application.jsa: сначала выполните mvn -P aot-cds -DskipTests package" >&2
+    exit 1
+fi
+if curl -s -o /dev/null "http://localhost:$PORT$URL_PATH"; then
+    echo "❌ Порт $PORT уже занят: остановите запущенное приложение или задайте PORT" >&2
+    exit 1
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Один запуск: печатает "время_мс rss_кб" или завершается ошибкой, если приложение не ответило
+# Процесс запускается из каталога CDS: архив применяется только при том же пути к jar, что и при его создании
+measure() {
+    local started pid code elapsed rss
+    started=$(now_ms)
+    (cd "$CDS_DIR" && exec "$@" --server.port="$PORT" $APP_ARGS) > "$LOG_FILE" 2>&1 &
+    pid=$!
+
+    while true; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ Приложение завершилось до первого ответа, см. $LOG_FILE" >&2
+            return 1
+        fi
+        code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$URL_PATH" || true)
+        if [[ "$code" =~ ^[23] ]]; then
+            break
+        fi
+        if (( $(now_ms) - started > TIMEOUT_SECONDS * 1000 )); then
+            kill "$pid" 2>/dev/null || true
+            echo "❌ Нет ответа за $TIMEOUT_SECONDS с (последний код: $code)" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( $(now_ms) - started ))
+    rss=$(awk '/^VmRSS:/ {print $2}' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local times=() rss=() result
+    for ((i = 1; i <= RUNS; i++)); do
+        result=$(measure "$@")
+        times+=("${result% *}")
+        rss+=("${result#* }")
+        echo "$name,$i,${result% *},${result#* }" >> "$RESULT_FILE"
+    done
+    printf '%-10s %10s ms %10s MB\n' "$name" \
+        "$(printf '%s\n' "${times[@]}" | median)" \
+        "$(( $(printf '%s\n' "${rss[@]}" | median) / 1024 ))"
+}
+
+echo "variant,run,first_request_ms,rss_kb" > "$RESULT_FILE"
+echo "Время до первого ответа на $URL_PATH и RSS (медиана из $RUNS запусков):"
+
+# Текущая сборка: обычный старт с настройками по умолчанию (отчет автоконфигурации, миграции, демо-данные)
+run_variant baseline "$JAVA" -jar "$JAR"
+
+# Класс-архив CDS + код бинов, сгенерированный Spring AOT, с профилем fast-start
+run_variant aot-cds "$JAVA" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar "$JAR" --spring.profiles.active=fast-start
+
+if [[ -x "$NATIVE_IMAGE" ]]; then
+    run_variant native "$(realpath "$NATIVE_IMAGE")" --spring.profiles.active=fast-start
+fi
@@ -0,0 +1,64 @@
+package com.creditapp.creditsystem.benchmark;
+
+import com.creditapp.creditsystem.entity.ScoringRule;
+import com.creditapp.creditsystem.service.CompiledScoringRule;
+import com.creditapp.creditsystem.service.ScoringRuleCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сравнения сумм заявки с порогами правил
+ * legacy* - прежний applyRule: строковая проверка условия и новые BigDecimal на каждый вызов,
+ * compiled* - скомпилированное правило с заранее разобранными порогами
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountComparisonBenchmark {
+
+    @Param({"50000.00", "150000.00", "750000.00"})
+    private String amountValue;
+
+    private BigDecimal amount;
+    private String condition;
+    private CompiledScoringRule compiledRule;
+
+    @Setup
+    public void setUp() {
+        amount = new BigDecimal(amountValue);
+        ScoringRule rule = new ScoringRule("Средний доход", "Сумма заявки между 100000 и 500000", 20);
+        condition = rule.getConditionDescription();
+        compiledRule = new ScoringRuleCompiler().compile(rule);
+    }
+
+    @Benchmark
+    public int legacyBetween() {
+        String lowerCondition = condition.toLowerCase();
+        if (lowerCondition.contains("сумма заявки между 100000 и 500000") &&
+                amount.compareTo(new BigDecimal("100000")) > 0 &&
+                amount.compareTo(new BigDecimal("500000")) <= 0) {
+            return 20;
+        }
+        return 0;
+    }
+
+    @Benchmark
+    public int compiledBetween() {
+        return compiledRule.apply(amount, 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.creditapp.creditsystem.benchmark;
+
+import com.creditapp.creditsystem.dto.CreditApplicationRequest;
+import com.creditapp.creditsystem.entity.Client;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.repository.ClientRepository;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import com.creditapp.creditsystem.service.CreditApplicationService;
+import com.creditapp.creditsystem.service.PassportIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк CreditApplicationService.createApplication без БД:
+ * репозитории заменены поддельными реализациями, измеряются поиск ID клиента в кеше паспортов
+ * и преобразование DTO в сущность
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationMappingBenchmark {
+
+    private CreditApplicationService creditApplicationService;
+    private CreditApplicationRequest request;
+
+    @Setup
+    public void setUp() {
+        Client client = new Client("Варвара", "Игнатьева", "4501123456");
+        client.setId(1L);
+
+        ClientRepository clientRepository = Fakes.repository(ClientRepository.class, Map.of(
+                "getReferenceById", args -> client,
+                "findIdByPassportData", args -> Optional.of(1L)));
+
+        // Настоящий индекс паспортов: после первого обращения ID клиента берется из кеша
+        PassportIndex passportIndex = new PassportIndex();
+        ReflectionTestUtils.setField(passportIndex, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(passportIndex, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passportIndex, "cacheSize", 1000);
+        passportIndex.init();
+
+        CreditApplicationRepository applicationRepository = Fakes.repository(CreditApplicationRepository.class,
+                Map.of("save", args -> args[0]));
+
+        creditApplicationService = new CreditApplicationService();
+        ReflectionTestUtils.setField(creditApplicationService, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(creditApplicationService, "creditApplicationRepository", applicationRepository);
+        ReflectionTestUtils.setField(creditApplicationService, "passportIndex", passportIndex);
+
+        request = new CreditApplicationRequest("4501123456", new BigDecimal("150000.00"));
+    }
+
+    @Benchmark
+    public CreditApplication createApplication() {
+        return creditApplicationService.createApplication(request);
+    }
+}
@@ -0,0 +1,36 @@
+package com.creditapp.creditsystem.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Поддельные репозитории для бенчмарков
+ * Вызов идет напрямую в заданную функцию без записи вызовов и разбора стека, как у Mockito,
+ * поэтому в замер попадает только код приложения. Незаданный метод бросает UnsupportedOperationException
+ */
+final class Fakes {
+
+    private Fakes() {
+    }
+
+    /**
+     * @param type    интерфейс репозитория
+     * @param answers имя метода -> ответ по аргументам вызова
+     */
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object fake = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "Fake" + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        });
+        return type.cast(fake);
+    }
+}
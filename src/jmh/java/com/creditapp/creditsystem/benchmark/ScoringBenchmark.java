@@ -0,0 +1,102 @@
+package com.creditapp.creditsystem.benchmark;
+
+import com.creditapp.creditsystem.entity.Client;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.entity.ScoringRule;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import com.creditapp.creditsystem.repository.ScoringRuleRepository;
+import com.creditapp.creditsystem.service.ScoringMetrics;
+import com.creditapp.creditsystem.service.ScoringRuleCompiler;
+import com.creditapp.creditsystem.service.ScoringService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк ScoringService.calculateScore
+ * Параметры: количество активных правил и количество более ранних заявок клиента.
+ * История клиента считается одним COUNT по индексу (client_id, creation_date), а не загрузкой
+ * всех его заявок, поэтому ее стоимость не зависит от числа заявок; здесь COUNT отвечает
+ * поддельный репозиторий, и previousApplications влияет только на то, какие правила по истории срабатывают.
+ * Стоимость самого COUNT на больших историях измеряется только на БД с данными, не этим бенчмарком
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    // Условия из тестовых данных, чередуются при генерации набора правил
+    private static final String[] CONDITIONS = {
+            "Сумма заявки > 500000",
+            "Сумма заявки между 100000 и 500000",
+            "Сумма заявки < 100000",
+            "Первый кредит у банка",
+            "Второй и более кредит"
+    };
+
+    @Param({"5", "50", "500"})
+    private int ruleCount;
+
+    // 0 - "Первый кредит у банка", 10 - "Второй и более кредит"
+    @Param({"0", "10"})
+    private int previousApplications;
+
+    private ScoringService scoringService;
+    private CreditApplication application;
+
+    @Setup
+    public void setUp() {
+        List<ScoringRule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            ScoringRule rule = new ScoringRule("Правило " + i, CONDITIONS[i % CONDITIONS.length], 1 + i % 30);
+            rule.setId((long) i + 1);
+            rules.add(rule);
+        }
+
+        ScoringRuleRepository ruleRepository = Fakes.repository(ScoringRuleRepository.class,
+                Map.of("findByActiveTrue", args -> rules));
+
+        long previousCount = previousApplications;
+        CreditApplicationRepository applicationRepository = Fakes.repository(CreditApplicationRepository.class,
+                Map.of("countByClientIdAndCreationDateBefore", args -> previousCount,
+                        "countArchivedApplicationsBefore", args -> 0L));
+
+        scoringService = new ScoringService();
+        ReflectionTestUtils.setField(scoringService, "scoringRuleRepository", ruleRepository);
+        ReflectionTestUtils.setField(scoringService, "scoringRuleCompiler", new ScoringRuleCompiler());
+        ReflectionTestUtils.setField(scoringService, "creditApplicationRepository", applicationRepository);
+        ReflectionTestUtils.setField(scoringService, "scoringMetrics", new ScoringMetrics(new SimpleMeterRegistry()));
+
+        Client client = new Client("Варвара", "Игнатьева", "4501123456");
+        client.setId(1L);
+
+        application = new CreditApplication(client, new BigDecimal("150000.00"));
+        application.setId(1L);
+        application.setCreationDate(LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+
+    @Benchmark
+    public Integer calculateScore() {
+        return scoringService.calculateScore(application);
+    }
+}
@@ -1,19 +1,25 @@
 package com.creditapp.creditsystem;
 
+import com.creditapp.creditsystem.config.NativeRuntimeHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Периодические задачи: очистка ключей идемпотентности
+@ImportRuntimeHints(NativeRuntimeHints.class) // Только для native image, на обычный запуск не влияет
 public class CreditSystemApplication {
 
-	public static void main(String[] args) {
-		SpringApplication.run(CreditSystemApplication.class, args);
-        System.out.println("=".repeat(50));
-        System.out.println("✅ Кредитное приложение ЗАПУЩЕНО!");
-        System.out.println("✅ Сервер работает на: http://localhost:8080");
-        System.out.println("✅ Проверьте в браузере эту ссылку");
-        System.out.println("=".repeat(50));
+	private static final Logger log = LoggerFactory.getLogger(CreditSystemApplication.class);
 
-    }
+	public static void main(String[] args) {
+		ConfigurableApplicationContext context = SpringApplication.run(CreditSystemApplication.class, args);
+		log.info("Кредитное приложение запущено: http://localhost:{}",
+				context.getEnvironment().getProperty("local.server.port", "8080"));
+	}
 
 }
@@ -0,0 +1,76 @@
+package com.creditapp.creditsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Кеш второго уровня Hibernate на Caffeine (JCache)
+ * Все регионы создаются здесь с ограничением размера и временем жизни записей;
+ * регион, не описанный в этом классе, приводит к ошибке старта (missing_cache_strategy=fail)
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HibernateCacheConfig.class);
+
+    // Регионы сущностей (имена совпадают с @Cache(region = ...) в Client и ScoringRule)
+    public static final String CLIENTS_REGION = "clients";
+    public static final String SCORING_RULES_REGION = "scoringRules";
+
+    // Регион запроса ScoringRuleRepository.findByActiveTrue
+    public static final String ACTIVE_SCORING_RULES_REGION = "scoringRules.active";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.clients.max-size:10000}") long clientsMaxSize,
+            @Value("${cache.clients.ttl:10m}") Duration clientsTtl,
+            @Value("${cache.scoring-rules.max-size:1000}") long rulesMaxSize,
+            @Value("${cache.scoring-rules.ttl:1h}") Duration rulesTtl,
+            @Value("${cache.queries.max-size:1000}") long queriesMaxSize) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, CLIENTS_REGION, clientsMaxSize, clientsTtl);
+        createRegion(cacheManager, SCORING_RULES_REGION, rulesMaxSize, rulesTtl);
+        createRegion(cacheManager, ACTIVE_SCORING_RULES_REGION, queriesMaxSize, rulesTtl);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queriesMaxSize, rulesTtl);
+        // Метки времени изменения таблиц для проверки кеша запросов: одна запись на таблицу, без срока жизни
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, queriesMaxSize, null);
+
+        log.info("Кеш второго уровня: клиенты {} / {}, правила скоринга {} / {}",
+                clientsMaxSize, clientsTtl, rulesMaxSize, rulesTtl);
+        return cacheManager;
+    }
+
+    // Передача менеджера кешей в Hibernate (hibernate.javax.cache.cache_manager)
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
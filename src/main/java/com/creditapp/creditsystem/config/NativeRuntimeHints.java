@@ -0,0 +1,22 @@
+package com.creditapp.creditsystem.config;
+
+import com.creditapp.creditsystem.logging.SamplingTurboFilter;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Подсказки для сборки native image (профиль native из spring-boot-starter-parent)
+ * Spring AOT сам описывает бины и стандартные ресурсы; здесь только то, что загружается
+ * в обход контекста: фильтр, создаваемый Logback по имени класса из logback-spring.xml,
+ * и демонстрационные данные Flyway вне стандартного каталога db/migration
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection().registerType(SamplingTurboFilter.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("db/demo/*.sql");
+    }
+}
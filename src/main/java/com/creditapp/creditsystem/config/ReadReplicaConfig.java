@@ -0,0 +1,83 @@
+package com.creditapp.creditsystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Разделение чтения и записи между основной БД и репликой
+ * Включается, если задан datasource.replica.jdbc-url; без него работает один пул spring.datasource.
+ * Транзакции с @Transactional(readOnly = true) (и TransactionTemplate с setReadOnly(true)) получают
+ * соединение реплики, остальные - основной БД. Соединение берется из пула только при первом запросе,
+ * когда признак readOnly транзакции уже известен (LazyConnectionDataSourceProxy).
+ * Запросы клиента в течение datasource.replica.read-your-writes-ms после его записи читают с основной БД
+ * (ReadYourWritesFilter)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class ReadReplicaConfig {
+
+    // Пул основной БД с настройками spring.datasource.*; миграции Flyway всегда идут сюда
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Пул реплики с настройками datasource.replica.* (jdbc-url, username, password, maximum-pool-size, ...)
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${datasource.replica.max-lag-ms:5000}") long maxLagMs,
+                                               @Value("${datasource.replica.lag-check-interval-ms:2000}") long checkIntervalMs,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), maxLagMs, checkIntervalMs);
+        Gauge.builder("datasource.replica.lag", monitor, ReplicaLagMonitor::getLagMs)
+                .description("Отставание реплики для чтения, мс (-1 - неизвестно)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return monitor;
+    }
+
+    // Закрепление чтения за основной БД после записи того же клиента
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${datasource.replica.read-your-writes-ms:10000}") long windowMs) {
+        return new ReadYourWritesFilter(windowMs);
+    }
+
+    // Основной DataSource приложения (JPA, JdbcTemplate)
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+        return dataSource;
+    }
+}
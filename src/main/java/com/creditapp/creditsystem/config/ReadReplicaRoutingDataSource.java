@@ -0,0 +1,45 @@
+package com.creditapp.creditsystem.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Источник соединений для транзакций только для чтения:
+ * реплика, если ее отставание в допустимых пределах и поток не закреплен за основной БД, иначе основная БД
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    // Чтение в текущем потоке идет с основной БД (запрос сразу после записи, см. ReadYourWritesFilter)
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // Закрепление чтения текущего потока за основной БД (true) или снятие закрепления (false)
+    static void setPrimaryPinned(boolean pinned) {
+        if (pinned) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARY_PINNED.get() != null) {
+            return PRIMARY;
+        }
+        return lagMonitor.isReplicaUsable() ? REPLICA : PRIMARY;
+    }
+}
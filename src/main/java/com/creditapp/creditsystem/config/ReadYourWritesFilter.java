@@ -0,0 +1,71 @@
+package com.creditapp.creditsystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Чтение своих записей при работе с репликой
+ * Запрос, изменяющий данные (POST, PUT, PATCH, DELETE), ставит cookie с моментом окончания окна
+ * datasource.replica.read-your-writes-ms. Пока окно не истекло, все чтения запросов этого клиента идут
+ * с основной БД: страница после перенаправления видит только что созданную заявку и ее новый статус и версию.
+ * Cookie, а не сессия, чтобы окно действовало на любом экземпляре приложения за балансировщиком.
+ * Клиенты без cookie (API) и чужие изменения видят данные с отставанием не больше datasource.replica.max-lag-ms
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "primary-reads-until";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long windowMs;
+
+    public ReadYourWritesFilter(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write) {
+            // Cookie ставится до обработки: после перенаправления ответ уже зафиксирован
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + windowMs));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMs + 999) / 1000));
+            response.addCookie(cookie);
+        }
+
+        ReadReplicaRoutingDataSource.setPrimaryPinned(write || pinnedUntil(request) > now);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadReplicaRoutingDataSource.setPrimaryPinned(false);
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.creditapp.creditsystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Отставание реплики для чтения от основной БД
+ * Периодически измеряет задержку применения WAL на реплике; пока задержка не превышает maxLagMs,
+ * транзакции только для чтения направляются на реплику, иначе (и при недоступной реплике) - на основную БД.
+ * Результат проверки действует не дольше двух интервалов проверки: если планировщик задержал проверку
+ * (например, занят другой долгой задачей), реплика считается непригодной до следующего успешного измерения
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Отставание в миллисекундах; 0 - реплика применила весь полученный WAL или это отдельная БД (не standby)
+    static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE (EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())) * 1000)::bigint END";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMs;
+    private final long maxCheckAgeNanos;
+    private final LongSupplier nanoClock;
+
+    // До первой проверки чтение идет на основную БД
+    private volatile boolean replicaUsable = false;
+    private volatile long lagMs = -1;
+    private volatile long checkedAtNanos;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, long maxLagMs, long checkIntervalMs) {
+        this(replicaJdbcTemplate, maxLagMs, checkIntervalMs, System::nanoTime);
+    }
+
+    ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, long maxLagMs, long checkIntervalMs, LongSupplier nanoClock) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLagMs = maxLagMs;
+        this.maxCheckAgeNanos = TimeUnit.MILLISECONDS.toNanos(2 * checkIntervalMs);
+        this.nanoClock = nanoClock;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:2000}")
+    public void check() {
+        boolean usable;
+        try {
+            Long lag = replicaJdbcTemplate.queryForObject(LAG_SQL, Long.class);
+            // Неизвестное отставание (реплика еще ничего не применила) считается недопустимым
+            lagMs = lag != null ? lag : -1;
+            usable = lag != null && lag <= maxLagMs;
+        } catch (DataAccessException e) {
+            lagMs = -1;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.atInfo().addKeyValue("lagMs", lagMs).log("Реплика доступна, чтение переключено на реплику");
+            } else {
+                log.atWarn().addKeyValue("lagMs", lagMs).addKeyValue("maxLagMs", maxLagMs)
+                        .log("Реплика недоступна или отстает, чтение идет с основной БД");
+            }
+        }
+        checkedAtNanos = nanoClock.getAsLong();
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable && nanoClock.getAsLong() - checkedAtNanos <= maxCheckAgeNanos;
+    }
+
+    // Последнее измеренное отставание в миллисекундах, -1 если неизвестно
+    public long getLagMs() {
+        return lagMs;
+    }
+}
@@ -0,0 +1,35 @@
+package com.creditapp.creditsystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Режим применения миграций схемы при старте приложения
+ * migrate - применить новые миграции (по умолчанию, для разработки и выкладки);
+ * validate - только сверить примененные миграции с файлами, схема не меняется
+ * и время старта не зависит от объема данных (миграции применяются отдельным шагом выкладки);
+ * none - не обращаться к БД при старте (тренировочный запуск CDS при сборке с профилем aot-cds)
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${schema.migration.mode:migrate}") String mode) {
+        return flyway -> {
+            if ("none".equalsIgnoreCase(mode)) {
+                log.info("Миграции схемы не применяются и не проверяются");
+            } else if ("validate".equalsIgnoreCase(mode)) {
+                log.info("Проверка миграций схемы без применения");
+                flyway.validate();
+            } else {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -1,12 +1,26 @@
 package com.creditapp.creditsystem.controller;
 
+import com.creditapp.creditsystem.dto.ClientImportReport;
+import com.creditapp.creditsystem.dto.ClientListItem;
+import com.creditapp.creditsystem.dto.KeysetPage;
+import com.creditapp.creditsystem.dto.NumberedPage;
 import com.creditapp.creditsystem.entity.Client;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.logging.LogMasking;
+import com.creditapp.creditsystem.service.ClientImportService;
+import com.creditapp.creditsystem.service.ClientSearchService;
 import com.creditapp.creditsystem.service.ClientService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,19 +32,42 @@ import java.util.Optional;
 @RequestMapping("/clients") // Базовый URL для всех методов контроллера
 public class ClientController {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientController.class);
+
     @Autowired
     private ClientService clientService; // Сервис для бизнес-логики клиентов
 
+    @Autowired
+    private ClientSearchService clientSearchService; // Поиск клиентов по триграммному индексу
+
+    @Autowired
+    private ClientImportService clientImportService; // Массовый импорт клиентов из файлов
+
+    @Value("${pagination.page-size:50}")
+    private int defaultPageSize; // Размер страницы списка по умолчанию
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize; // Максимальный размер страницы, который можно запросить
+
     /**
-     * Отображение страницы со списком всех клиентов
+     * Отображение страницы со списком клиентов (keyset-пагинация по ID)
+     * @param cursor ID крайнего клиента текущей страницы (не указан - первая страница)
+     * @param dir направление перехода: next или prev
+     * @param size размер страницы (не указан - значение по умолчанию)
      * @param model Модель для передачи данных в представление
      * @return имя шаблона для отображения списка клиентов
      */
     @GetMapping
-    public String listClients(Model model) {
-        System.out.println("📋 Получение списка клиентов для отображения");
-        List<Client> clients = clientService.getAllClients(); // Получаем всех клиентов из сервиса
-        model.addAttribute("clients", clients); // Добавляем список клиентов в модель
+    public String listClients(@RequestParam(required = false) Long cursor,
+                              @RequestParam(defaultValue = "next") String dir,
+                              @RequestParam(required = false) Integer size,
+                              Model model) {
+        log.debug(LogMarkers.SAMPLED, "Получение списка клиентов для отображения");
+        KeysetPage<ClientListItem> page = clientService.getClientsPage(
+                cursor, "prev".equals(dir), KeysetPage.resolveSize(size, defaultPageSize, maxPageSize)); // Получаем страницу клиентов из сервиса
+        model.addAttribute("clients", page.getItems()); // Добавляем клиентов страницы в модель
+        model.addAttribute("page", page); // Курсоры для перехода между страницами
+        model.addAttribute("pageUrl", "/clients");
         model.addAttribute("title", "Список клиентов"); // Заголовок страницы
         return "clients/list"; // Возвращаем имя Thymeleaf шаблона
     }
@@ -42,7 +79,7 @@ public class ClientController {
      */
     @GetMapping("/new")
     public String showCreateForm(Model model) {
-        System.out.println("📝 Отображение формы создания клиента");
+        log.debug(LogMarkers.SAMPLED, "Отображение формы создания клиента");
         model.addAttribute("client", new Client()); // Создаем пустой объект клиента для формы
         model.addAttribute("title", "Новый клиент");
         return "clients/form";
@@ -56,7 +93,7 @@ public class ClientController {
      */
     @PostMapping
     public String createClient(@ModelAttribute Client client, Model model) {
-        System.out.println("🆕 Создание клиента: " + client.getFirstName() + " " + client.getLastName());
+        log.debug("Запрос на создание клиента");
         try {
             Client savedClient = clientService.createClient(client); // Сохраняем клиента через сервис
             model.addAttribute("successMessage", "Клиент успешно создан!");
@@ -69,6 +106,27 @@ public class ClientController {
         }
     }
 
+    /**
+     * Массовый импорт клиентов из CSV или NDJSON, переданного в теле запроса
+     * CSV должен начинаться с заголовка: first_name,last_name,passport_data,phone_number,email
+     * Пример: curl -X POST --data-binary @clients.csv -H "Content-Type: text/csv" /clients/import?format=csv
+     * @param format формат файла: csv или ndjson
+     * @param body содержимое файла (читается потоком)
+     * @return отчет импорта (JSON) с ошибками по строкам или 400 при ошибке формата
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ResponseEntity<?> importClients(@RequestParam(defaultValue = "csv") String format, InputStream body) {
+        log.debug("Запрос на импорт клиентов, формат: {}", format);
+        try {
+            ClientImportService.ImportFormat importFormat = ClientImportService.ImportFormat.valueOf(format.toUpperCase());
+            ClientImportReport report = clientImportService.importClients(body, importFormat);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Ошибка импорта: " + e.getMessage());
+        }
+    }
+
     /**
      * Просмотр подробной информации о конкретном клиенте
      * @param id идентификатор клиента
@@ -77,7 +135,7 @@ public class ClientController {
      */
     @GetMapping("/{id}")
     public String viewClient(@PathVariable Long id, Model model) {
-        System.out.println("👀 Просмотр клиента с ID: " + id);
+        log.debug(LogMarkers.SAMPLED, "Просмотр клиента с ID: {}", id);
         Optional<Client> client = clientService.getClientById(id); // Ищем клиента по ID
         if (client.isPresent()) {
             model.addAttribute("client", client.get()); // Добавляем клиента в модель
@@ -97,7 +155,7 @@ public class ClientController {
      */
     @GetMapping("/{id}/edit")
     public String showEditForm(@PathVariable Long id, Model model) {
-        System.out.println("✏️ Отображение формы редактирования клиента: " + id);
+        log.debug(LogMarkers.SAMPLED, "Отображение формы редактирования клиента: {}", id);
         Optional<Client> client = clientService.getClientById(id);
         if (client.isPresent()) {
             model.addAttribute("client", client.get()); // Передаем существующие данные клиента в форму
@@ -118,7 +176,7 @@ public class ClientController {
      */
     @PostMapping("/{id}")
     public String updateClient(@PathVariable Long id, @ModelAttribute Client client, Model model) {
-        System.out.println("🔄 Обновление клиента с ID: " + id);
+        log.debug("Запрос на обновление клиента с ID: {}", id);
         try {
             Client updatedClient = clientService.updateClient(id, client); // Обновляем клиента через сервис
             model.addAttribute("successMessage", "Клиент успешно обновлен!");
@@ -138,7 +196,7 @@ public class ClientController {
      */
     @PostMapping("/{id}/delete")
     public String deleteClient(@PathVariable Long id, Model model) {
-        System.out.println("🗑️ Удаление клиента с ID: " + id);
+        log.debug("Запрос на удаление клиента с ID: {}", id);
         try {
             clientService.deleteClient(id); // Удаляем клиента через сервис
             model.addAttribute("successMessage", "Клиент успешно удален!");
@@ -149,18 +207,31 @@ public class ClientController {
     }
 
     /**
-     * Поиск клиентов по фамилии
-     * @param lastName фамилия для поиска
+     * Поиск клиентов по имени, фамилии, паспорту или телефону
+     * Поддерживает префикс, подстроку и опечатки; результаты упорядочены по релевантности
+     * @param q строка поиска
+     * @param lastName строка поиска из старых ссылок (используется, если q не указан)
+     * @param page номер страницы результатов (с нуля)
+     * @param size размер страницы (не указан - значение по умолчанию)
      * @param model Модель для передачи данных в представление
      * @return шаблон списка клиентов с результатами поиска
      */
     @GetMapping("/search")
-    public String searchClients(@RequestParam String lastName, Model model) {
-        System.out.println("🔍 Поиск клиентов по фамилии: " + lastName);
-        List<Client> clients = clientService.searchClientsByLastName(lastName); // Поиск через сервис
-        model.addAttribute("clients", clients); // Результаты поиска
-        model.addAttribute("searchTerm", lastName); // Сохраняем поисковый запрос
-        model.addAttribute("title", "Результаты поиска: " + lastName);
+    public String searchClients(@RequestParam(required = false) String q,
+                                @RequestParam(required = false) String lastName,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(required = false) Integer size,
+                                Model model) {
+        String query = q != null ? q : (lastName != null ? lastName : "");
+        log.debug(LogMarkers.SAMPLED, "Поиск клиентов: {}", LogMasking.digits(query));
+        NumberedPage<ClientListItem> results = clientSearchService.search(
+                query, page, KeysetPage.resolveSize(size, defaultPageSize, maxPageSize)); // Поиск по триграммному индексу
+        model.addAttribute("clients", results.getItems()); // Результаты поиска
+        model.addAttribute("numberedPage", results);
+        model.addAttribute("pageUrl", UriComponentsBuilder.fromPath("/clients/search")
+                .queryParam("q", query).encode().toUriString()); // Ссылки на страницы сохраняют запрос
+        model.addAttribute("searchTerm", query); // Сохраняем поисковый запрос
+        model.addAttribute("title", "Результаты поиска: " + query);
         return "clients/list"; // Используем тот же шаблон что и для обычного списка
     }
-}
\ No newline at end of file
+}
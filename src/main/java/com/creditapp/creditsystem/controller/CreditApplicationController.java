@@ -1,16 +1,42 @@
 package com.creditapp.creditsystem.controller;
 
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.dto.ApplicationListItem;
+import com.creditapp.creditsystem.dto.ApplicationStatusEvent;
+import com.creditapp.creditsystem.dto.BatchScoringProgress;
 import com.creditapp.creditsystem.dto.CreditApplicationRequest;
+import com.creditapp.creditsystem.dto.KeysetPage;
+import com.creditapp.creditsystem.dto.NumberedPage;
+import com.creditapp.creditsystem.dto.RuleSimulationReport;
+import com.creditapp.creditsystem.dto.ScoringTaskStatus;
 import com.creditapp.creditsystem.entity.ApplicationStatus;
 import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.entity.ScoringRule;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.service.ApplicationExportService;
+import com.creditapp.creditsystem.service.AsyncScoringService;
+import com.creditapp.creditsystem.service.BatchScoringService;
+import com.creditapp.creditsystem.service.BulkApplicationService;
 import com.creditapp.creditsystem.service.CreditApplicationService;
+import com.creditapp.creditsystem.service.InMemoryStatusEventSink;
+import com.creditapp.creditsystem.service.RuleSimulationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Контроллер для управления кредитными заявками
@@ -20,19 +46,54 @@ import java.util.Optional;
 @RequestMapping("/applications") // Базовый URL для всех endpoints связанных с заявками
 public class CreditApplicationController {
 
+    private static final Logger log = LoggerFactory.getLogger(CreditApplicationController.class);
+
     @Autowired
     private CreditApplicationService creditApplicationService; // Сервис для бизнес-логики кредитных заявок
 
+    @Autowired
+    private BatchScoringService batchScoringService; // Сервис пакетного скоринга заявок NEW
+
+    @Autowired
+    private AsyncScoringService asyncScoringService; // Очередь асинхронного скоринга
+
+    @Autowired
+    private RuleSimulationService ruleSimulationService; // Симуляция правил скоринга на истории заявок
+
+    @Autowired
+    private ApplicationExportService applicationExportService; // Потоковая выгрузка заявок
+
+    @Autowired
+    private BulkApplicationService bulkApplicationService; // Массовая подача заявок
+
+    @Autowired(required = false)
+    private InMemoryStatusEventSink inMemoryStatusEventSink; // Последние события статусов (только при applications.outbox.sink=memory)
+
+    @Value("${pagination.page-size:50}")
+    private int defaultPageSize; // Размер страницы списка по умолчанию
+
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize; // Максимальный размер страницы, который можно запросить
+
     /**
-     * Отображение страницы со списком всех кредитных заявок
+     * Отображение страницы со списком кредитных заявок (keyset-пагинация, новые сверху)
+     * @param cursor ID крайней заявки текущей страницы (не указан - первая страница)
+     * @param dir направление перехода: next или prev
+     * @param size размер страницы (не указан - значение по умолчанию)
      * @param model Модель для передачи данных в представление
      * @return имя шаблона для отображения списка заявок
      */
     @GetMapping
-    public String listApplications(Model model) {
-        System.out.println("📋 Получение списка заявок для отображения");
-        List<CreditApplication> applications = creditApplicationService.getAllApplications(); // Получаем все заявки
-        model.addAttribute("applications", applications); // Передаем список заявок в представление
+    public String listApplications(@RequestParam(required = false) Long cursor,
+                                   @RequestParam(defaultValue = "next") String dir,
+                                   @RequestParam(required = false) Integer size,
+                                   Model model) {
+        log.debug(LogMarkers.SAMPLED, "Получение списка заявок для отображения");
+        KeysetPage<ApplicationListItem> page = creditApplicationService.getApplicationsPage(
+                null, cursor, "prev".equals(dir), KeysetPage.resolveSize(size, defaultPageSize, maxPageSize));
+        model.addAttribute("applications", page.getItems()); // Передаем заявки текущей страницы в представление
+        model.addAttribute("page", page); // Курсоры для перехода между страницами
+        model.addAttribute("pageUrl", "/applications");
         model.addAttribute("title", "Список заявок"); // Заголовок страницы
         return "applications/list"; // Шаблон для отображения списка
     }
@@ -44,9 +105,11 @@ public class CreditApplicationController {
      */
     @GetMapping("/new")
     public String showCreateForm(Model model) {
-        System.out.println("📝 Отображение формы создания заявки");
+        log.debug(LogMarkers.SAMPLED, "Отображение формы создания заявки");
         // Создаем пустой DTO объект для заполнения в форме
-        model.addAttribute("applicationRequest", new CreditApplicationRequest());
+        CreditApplicationRequest request = new CreditApplicationRequest();
+        request.setIdempotencyKey(UUID.randomUUID().toString()); // Повторная отправка формы не создаст дубликат
+        model.addAttribute("applicationRequest", request);
         model.addAttribute("title", "Новая заявка");
         return "applications/form"; // Шаблон формы создания/редактирования
     }
@@ -54,12 +117,18 @@ public class CreditApplicationController {
     /**
      * Обработка создания новой кредитной заявки
      * @param request DTO с данными заявки из формы
+     * @param idempotencyKey ключ идемпотентности из заголовка Idempotency-Key (повтор вернет исходную заявку)
      * @param model Модель для передачи данных и сообщений
      * @return перенаправление на страницу заявки или обратно на форму в случае ошибки
      */
     @PostMapping
-    public String createApplication(@ModelAttribute CreditApplicationRequest request, Model model) {
-        System.out.println("🆕 Создание заявки: " + request);
+    public String createApplication(@ModelAttribute CreditApplicationRequest request,
+                                    @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey,
+                                    Model model) {
+        log.debug("Запрос на создание заявки: {}", request);
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            request.setIdempotencyKey(idempotencyKey); // Заголовок имеет приоритет над полем формы
+        }
         try {
             // Создаем заявку через сервис, передавая DTO
             CreditApplication application = creditApplicationService.createApplication(request);
@@ -82,7 +151,7 @@ public class CreditApplicationController {
      */
     @GetMapping("/{id}")
     public String viewApplication(@PathVariable Long id, Model model) {
-        System.out.println("👀 Просмотр заявки с ID: " + id);
+        log.debug(LogMarkers.SAMPLED, "Просмотр заявки с ID: {}", id);
         Optional<CreditApplication> application = creditApplicationService.getApplicationById(id);
         if (application.isPresent()) {
             model.addAttribute("app", application.get()); // Передаем заявку в модель
@@ -96,20 +165,19 @@ public class CreditApplicationController {
 
     /**
      * Запуск процесса скоринга для кредитной заявки
-     * Автоматически рассчитывает кредитный рейтинг и обновляет статус заявки
+     * Заявка переводится в SCORING и ставится в очередь, расчет выполняется в фоне,
+     * страница заявки сама обновится после завершения скоринга
      * @param id идентификатор заявки для скоринга
      * @param model Модель для передачи сообщений
-     * @return перенаправление на страницу заявки с результатом скоринга
+     * @return перенаправление на страницу заявки
      */
     @PostMapping("/{id}/scoring")
     public String runScoring(@PathVariable Long id, Model model) {
-        System.out.println("🎯 Запуск скоринга для заявки: " + id);
+        log.debug("Запрос на скоринг заявки: {}", id);
         try {
-            // Запускаем процесс скоринга через сервис
-            CreditApplication application = creditApplicationService.runScoring(id);
-            model.addAttribute("successMessage",
-                    "Скоринг завершен! Результат: " + application.getStatus() +
-                            " (Скор: " + application.getScore() + ")");
+            // Ставим заявку в очередь скоринга через сервис
+            asyncScoringService.submit(id);
+            model.addAttribute("successMessage", "Заявка поставлена в очередь скоринга");
             return "redirect:/applications/" + id;
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Ошибка скоринга: " + e.getMessage());
@@ -117,22 +185,194 @@ public class CreditApplicationController {
         }
     }
 
+    /**
+     * Постановка заявки в очередь скоринга (API)
+     * Возвращает ответ сразу, не дожидаясь расчета скоринга
+     * @param id идентификатор заявки для скоринга
+     * @return 202 с состоянием задачи и ссылкой на статус в заголовке Location или 409 при ошибке
+     */
+    @PostMapping("/{id}/scoring/async")
+    @ResponseBody
+    public ResponseEntity<?> submitScoring(@PathVariable Long id) {
+        try {
+            ScoringTaskStatus task = asyncScoringService.submit(id);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Location", "/applications/" + id + "/scoring/status")
+                    .body(task);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Состояние скоринга заявки (для опроса)
+     * @param id идентификатор заявки
+     * @return состояние задачи скоринга или 404 если заявка не найдена
+     */
+    @GetMapping("/{id}/scoring/status")
+    @ResponseBody
+    public ResponseEntity<?> scoringStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(asyncScoringService.getStatus(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Запуск пакетного скоринга всех заявок со статусом NEW
+     * Задание выполняется в фоне, прогресс доступен через GET /applications/batch-scoring
+     * @return 202 с начальным прогрессом или 409 если задание уже выполняется
+     */
+    @PostMapping("/batch-scoring")
+    @ResponseBody
+    public ResponseEntity<?> startBatchScoring() {
+        log.debug("Запрос на пакетный скоринг");
+        try {
+            BatchScoringProgress progress = batchScoringService.startBatchScoring();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Прогресс текущего или последнего пакетного скоринга
+     * Содержит количество обработанных заявок, процент выполнения и пропускную способность (заявок/сек)
+     * @return прогресс задания или 404 если пакетный скоринг еще не запускался
+     */
+    @GetMapping("/batch-scoring")
+    @ResponseBody
+    public ResponseEntity<BatchScoringProgress> batchScoringProgress() {
+        return batchScoringService.getProgress()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Симуляция кандидатного набора правил скоринга на исторических заявках
+     * Правила из запроса не сохраняются; отчет показывает изменение доли одобрений,
+     * распределение скоров и заявки, решение по которым изменилось бы
+     * @param rules кандидатный набор правил (JSON)
+     * @return отчет симуляции или 400 при ошибке
+     */
+    @PostMapping("/simulation")
+    @ResponseBody
+    public ResponseEntity<?> simulateRules(@RequestBody List<ScoringRule> rules) {
+        log.debug("Запрос на симуляцию набора правил: {}", rules.size());
+        try {
+            RuleSimulationReport report = ruleSimulationService.simulate(rules);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Ошибка симуляции: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Комбинированный фильтр заявок: статус, клиент, диапазоны суммы, даты создания и скоринга
+     * Пример: GET /applications/filter?status=APPROVED&minAmount=10000&minScore=60&sort=amount&direction=desc
+     * @param filter условия отбора (все необязательные)
+     * @param sort поле сортировки: id, amount, creationDate, score или status
+     * @param direction направление сортировки: asc или desc
+     * @param page номер страницы (с нуля)
+     * @param size размер страницы (не указан - значение по умолчанию)
+     * @return страница строк списка заявок (JSON) или 400 при недопустимых параметрах
+     */
+    @GetMapping("/filter")
+    @ResponseBody
+    public ResponseEntity<?> filterApplications(@ModelAttribute ApplicationFilter filter,
+                                                @RequestParam(defaultValue = "creationDate") String sort,
+                                                @RequestParam(defaultValue = "desc") String direction,
+                                                @RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(required = false) Integer size) {
+        try {
+            NumberedPage<ApplicationListItem> result = creditApplicationService.filterApplications(
+                    filter, sort, Sort.Direction.fromString(direction), page,
+                    KeysetPage.resolveSize(size, defaultPageSize, maxPageSize));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Ошибка фильтра: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Массовая подача заявок (JSON-массив CreditApplicationRequest)
+     * Пример: POST /applications/bulk?score=true с телом [{"passportData":"4510 123456","amount":150000}, ...]
+     * @param requests заявки для создания
+     * @param score true - сразу поставить созданные заявки в очередь скоринга
+     * @return результат по каждой заявке в порядке запроса или 400, если заявок больше applications.bulk.max-items
+     */
+    @PostMapping("/bulk")
+    @ResponseBody
+    public ResponseEntity<?> submitBulk(@RequestBody List<CreditApplicationRequest> requests,
+                                        @RequestParam(defaultValue = "false") boolean score) {
+        log.debug("Запрос на массовую подачу заявок: {}", requests.size());
+        try {
+            return ResponseEntity.ok(bulkApplicationService.submit(requests, score));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Ошибка массовой подачи: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Последние опубликованные события смены статуса заявок (для локальной отладки outbox)
+     * Пример: GET /applications/events?limit=50
+     * @param limit максимальное количество событий
+     * @return события в порядке публикации или 404, если выбран не in-memory получатель событий
+     */
+    @GetMapping("/events")
+    @ResponseBody
+    public ResponseEntity<List<ApplicationStatusEvent>> recentStatusEvents(@RequestParam(defaultValue = "100") int limit) {
+        if (inMemoryStatusEventSink == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(inMemoryStatusEventSink.recent(Math.max(1, limit)));
+    }
+
+    /**
+     * Потоковая выгрузка заявок в CSV или NDJSON
+     * Строки пишутся в ответ по мере чтения из БД, размер выгрузки не ограничен памятью
+     * Пример: GET /applications/export?format=csv&status=APPROVED&minAmount=10000&createdFrom=2024-01-01T00:00:00
+     * @param format формат выгрузки: csv или ndjson
+     * @param filter фильтр по статусу, диапазону суммы и периоду создания
+     * @return поток строк выгрузки или 400 при неизвестном формате
+     */
+    @GetMapping("/export")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> exportApplications(@RequestParam(defaultValue = "csv") String format,
+                                                                    @ModelAttribute ApplicationFilter filter) {
+        ApplicationExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = ApplicationExportService.ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> applicationExportService.export(filter, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"applications." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Ручное изменение статуса кредитной заявки
      * Используется для административного управления статусами (например, одобрение/отклонение)
      * @param id идентификатор заявки
      * @param status новый статус из enum ApplicationStatus
+     * @param version версия заявки, открытая оператором; если заявку успели изменить, статус не меняется
      * @param model Модель для передачи сообщений
      * @return перенаправление на страницу заявки
      */
     @PostMapping("/{id}/status")
     public String updateStatus(@PathVariable Long id,
                                @RequestParam ApplicationStatus status,
+                               @RequestParam(required = false) Long version,
                                Model model) {
-        System.out.println("✏️ Изменение статуса заявки " + id + " на: " + status);
+        log.debug("Запрос на изменение статуса заявки {} на: {}", id, status);
         try {
             // Обновляем статус заявки через сервис
-            CreditApplication application = creditApplicationService.updateApplicationStatus(id, status);
+            CreditApplication application = creditApplicationService.updateApplicationStatus(id, status, version);
             model.addAttribute("successMessage", "Статус заявки изменен на: " + status);
             return "redirect:/applications/" + id;
         } catch (Exception e) {
@@ -142,17 +382,27 @@ public class CreditApplicationController {
     }
 
     /**
-     * Фильтрация заявок по определенному статусу
+     * Фильтрация заявок по определенному статусу (keyset-пагинация, новые сверху)
      * @param status статус для фильтрации (из enum ApplicationStatus)
+     * @param cursor ID крайней заявки текущей страницы (не указан - первая страница)
+     * @param dir направление перехода: next или prev
+     * @param size размер страницы (не указан - значение по умолчанию)
      * @param model Модель для передачи данных в представление
      * @return шаблон списка заявок с отфильтрованными результатами
      */
     @GetMapping("/status/{status}")
-    public String applicationsByStatus(@PathVariable ApplicationStatus status, Model model) {
-        System.out.println("🔍 Поиск заявок по статусу: " + status);
-        // Получаем заявки с указанным статусом через сервис
-        List<CreditApplication> applications = creditApplicationService.getApplicationsByStatus(status);
-        model.addAttribute("applications", applications); // Список отфильтрованных заявок
+    public String applicationsByStatus(@PathVariable ApplicationStatus status,
+                                       @RequestParam(required = false) Long cursor,
+                                       @RequestParam(defaultValue = "next") String dir,
+                                       @RequestParam(required = false) Integer size,
+                                       Model model) {
+        log.debug(LogMarkers.SAMPLED, "Поиск заявок по статусу: {}", status);
+        // Получаем страницу заявок с указанным статусом через сервис
+        KeysetPage<ApplicationListItem> page = creditApplicationService.getApplicationsPage(
+                status, cursor, "prev".equals(dir), KeysetPage.resolveSize(size, defaultPageSize, maxPageSize));
+        model.addAttribute("applications", page.getItems()); // Список отфильтрованных заявок
+        model.addAttribute("page", page);
+        model.addAttribute("pageUrl", "/applications/status/" + status);
         model.addAttribute("status", status); // Текущий статус фильтра
         model.addAttribute("title", "Заявки со статусом: " + status);
         return "applications/list"; // Используем тот же шаблон что и для полного списка
@@ -166,7 +416,7 @@ public class CreditApplicationController {
      */
     @GetMapping("/statistics")
     public String showStatistics(Model model) {
-        System.out.println("📊 Отображение статистики");
+        log.debug(LogMarkers.SAMPLED, "Отображение статистики");
         // Получаем статистику в формате строки (может быть JSON, HTML или простой текст)
         String statistics = creditApplicationService.getStatistics();
         model.addAttribute("statistics", statistics); // Статистические данные
@@ -1,8 +1,10 @@
 package com.creditapp.creditsystem.controller;
 
-import com.creditapp.creditsystem.entity.ApplicationStatus;
-import com.creditapp.creditsystem.service.ClientService;
-import com.creditapp.creditsystem.service.CreditApplicationService;
+import com.creditapp.creditsystem.dto.DashboardStatistics;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.service.DashboardStatisticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,11 +17,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 @Controller
 public class HomeController {
 
-    @Autowired
-    private ClientService clientService;
+    private static final Logger log = LoggerFactory.getLogger(HomeController.class);
 
     @Autowired
-    private CreditApplicationService creditApplicationService;
+    private DashboardStatisticsService dashboardStatisticsService; // Сводная статистика (кешируемый снимок)
 
     /**
      * Обработка запроса панели управления (дашборда)
@@ -36,31 +37,7 @@ public class HomeController {
         model.addAttribute("message", "Добро пожаловать в систему управления кредитными заявками!");
 
         // ДОБАВЛЯЕМ РЕАЛЬНЫЕ ДАННЫЕ ИЗ БАЗЫ ДЛЯ СТАТИСТИКИ
-        try {
-            long totalClients = clientService.getAllClients().size();
-            long approvedApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.APPROVED).size();
-            long scoringApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.SCORING).size();
-            long newApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.NEW).size();
-            long rejectedApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.REJECTED).size();
-
-            model.addAttribute("totalClients", totalClients);
-            model.addAttribute("approvedApplications", approvedApplications);
-            model.addAttribute("scoringApplications", scoringApplications);
-            model.addAttribute("newApplications", newApplications);
-            model.addAttribute("rejectedApplications", rejectedApplications);
-            model.addAttribute("pendingApplications", scoringApplications + newApplications);
-
-            System.out.println("📊 Статистика загружена: " + totalClients + " клиентов, " + approvedApplications + " одобренных заявок");
-        } catch (Exception e) {
-            // Если сервисы не готовы, используем заглушки
-            System.out.println("⚠️ Сервисы не доступны, используем заглушки: " + e.getMessage());
-            model.addAttribute("totalClients", 19);
-            model.addAttribute("approvedApplications", 8);
-            model.addAttribute("scoringApplications", 6);
-            model.addAttribute("newApplications", 4);
-            model.addAttribute("rejectedApplications", 5);
-            model.addAttribute("pendingApplications", 10);
-        }
+        addStatistics(model);
 
         // Возвращаем имя Thymeleaf шаблона (dashboard.html)
         return "dashboard";
@@ -78,21 +55,34 @@ public class HomeController {
         // Добавляем заголовок для страницы дашборда
         model.addAttribute("title", "Панель управления");
 
-        // ПОВТОРЯЕМ ТУ ЖЕ ЛОГИКУ ДЛЯ СТАТИСТИКИ
+        // Та же статистика, что и на главной странице
+        addStatistics(model);
+
+        // Возвращаем имя Thymeleaf шаблона (dashboard.html)
+        return "dashboard";
+    }
+
+    /**
+     * Добавление сводной статистики в модель
+     * Данные берутся из кешируемого снимка: один GROUP BY по статусам и COUNT клиентов
+     *
+     * @param model Модель для передачи данных в представление
+     */
+    private void addStatistics(Model model) {
         try {
-            long totalClients = clientService.getAllClients().size();
-            long approvedApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.APPROVED).size();
-            long scoringApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.SCORING).size();
-            long newApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.NEW).size();
-            long rejectedApplications = creditApplicationService.getApplicationsByStatus(ApplicationStatus.REJECTED).size();
+            DashboardStatistics statistics = dashboardStatisticsService.getStatistics();
+
+            model.addAttribute("totalClients", statistics.getTotalClients());
+            model.addAttribute("approvedApplications", statistics.getApprovedApplications());
+            model.addAttribute("scoringApplications", statistics.getScoringApplications());
+            model.addAttribute("newApplications", statistics.getNewApplications());
+            model.addAttribute("rejectedApplications", statistics.getRejectedApplications());
+            model.addAttribute("pendingApplications", statistics.getPendingApplications());
 
-            model.addAttribute("totalClients", totalClients);
-            model.addAttribute("approvedApplications", approvedApplications);
-            model.addAttribute("scoringApplications", scoringApplications);
-            model.addAttribute("newApplications", newApplications);
-            model.addAttribute("rejectedApplications", rejectedApplications);
-            model.addAttribute("pendingApplications", scoringApplications + newApplications);
+            log.debug(LogMarkers.SAMPLED, "Статистика загружена: {} клиентов, {} одобренных заявок", statistics.getTotalClients(), statistics.getApprovedApplications());
         } catch (Exception e) {
+            // Если сервисы не готовы, используем заглушки
+            log.warn("Сервисы не доступны, используем заглушки: {}", e.getMessage());
             model.addAttribute("totalClients", 19);
             model.addAttribute("approvedApplications", 8);
             model.addAttribute("scoringApplications", 6);
@@ -100,8 +90,5 @@ public class HomeController {
             model.addAttribute("rejectedApplications", 5);
             model.addAttribute("pendingApplications", 10);
         }
-
-        // Возвращаем имя Thymeleaf шаблона (dashboard.html)
-        return "dashboard";
     }
 }
\ No newline at end of file
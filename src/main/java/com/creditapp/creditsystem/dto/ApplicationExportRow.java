@@ -0,0 +1,73 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO строки выгрузки кредитных заявок (CSV/NDJSON)
+ * Заполняется конструктором в JPQL-запросе, сущности при выгрузке не создаются
+ */
+public class ApplicationExportRow {
+
+    private final Long id;
+    private final Long clientId;
+    private final String clientFirstName;
+    private final String clientLastName;
+    private final BigDecimal amount;
+    private final ApplicationStatus status;
+    private final Integer score;
+    private final LocalDateTime creationDate;
+    private final LocalDateTime decisionDate;
+
+    public ApplicationExportRow(Long id, Long clientId, String clientFirstName, String clientLastName,
+                                BigDecimal amount, ApplicationStatus status, Integer score,
+                                LocalDateTime creationDate, LocalDateTime decisionDate) {
+        this.id = id;
+        this.clientId = clientId;
+        this.clientFirstName = clientFirstName;
+        this.clientLastName = clientLastName;
+        this.amount = amount;
+        this.status = status;
+        this.score = score;
+        this.creationDate = creationDate;
+        this.decisionDate = decisionDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public String getClientFirstName() {
+        return clientFirstName;
+    }
+
+    public String getClientLastName() {
+        return clientLastName;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public LocalDateTime getDecisionDate() {
+        return decisionDate;
+    }
+}
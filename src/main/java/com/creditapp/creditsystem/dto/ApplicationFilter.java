@@ -0,0 +1,136 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO фильтра кредитных заявок
+ * Все условия необязательные: незаполненное поле не ограничивает выборку
+ */
+public class ApplicationFilter {
+
+    /**
+     * Статус заявки
+     */
+    private ApplicationStatus status;
+
+    /**
+     * ID клиента
+     */
+    private Long clientId;
+
+    /**
+     * Минимальная сумма заявки (включительно)
+     */
+    private BigDecimal minAmount;
+
+    /**
+     * Максимальная сумма заявки (включительно)
+     */
+    private BigDecimal maxAmount;
+
+    /**
+     * Начало периода по дате создания (включительно), формат ISO: 2024-01-15T00:00:00
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    /**
+     * Конец периода по дате создания (не включительно), формат ISO: 2024-02-01T00:00:00
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    /**
+     * Минимальный скоринговый балл (включительно)
+     */
+    private Integer minScore;
+
+    /**
+     * Максимальный скоринговый балл (включительно)
+     */
+    private Integer maxScore;
+
+    public ApplicationFilter() {}
+
+    public ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ApplicationStatus status) {
+        this.status = status;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public Integer getMinScore() {
+        return minScore;
+    }
+
+    public void setMinScore(Integer minScore) {
+        this.minScore = minScore;
+    }
+
+    public Integer getMaxScore() {
+        return maxScore;
+    }
+
+    public void setMaxScore(Integer maxScore) {
+        this.maxScore = maxScore;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationFilter{" +
+                "status=" + status +
+                ", clientId=" + clientId +
+                ", minAmount=" + minAmount +
+                ", maxAmount=" + maxAmount +
+                ", createdFrom=" + createdFrom +
+                ", createdTo=" + createdTo +
+                ", minScore=" + minScore +
+                ", maxScore=" + maxScore +
+                '}';
+    }
+}
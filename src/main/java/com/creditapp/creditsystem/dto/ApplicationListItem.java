@@ -0,0 +1,68 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO строки списка кредитных заявок (только для чтения)
+ * Заполняется конструктором прямо в JPQL-запросе вместе с именем клиента:
+ * сущности не создаются, не попадают в контекст персистентности и не проверяются на изменения
+ */
+public class ApplicationListItem {
+
+    private final Long id;
+    private final String clientFirstName;
+    private final String clientLastName;
+    private final BigDecimal amount;
+    private final ApplicationStatus status;
+    private final Integer score;
+    private final LocalDateTime creationDate;
+
+    public ApplicationListItem(Long id, String clientFirstName, String clientLastName, BigDecimal amount,
+                               ApplicationStatus status, Integer score, LocalDateTime creationDate) {
+        this.id = id;
+        this.clientFirstName = clientFirstName;
+        this.clientLastName = clientLastName;
+        this.amount = amount;
+        this.status = status;
+        this.score = score;
+        this.creationDate = creationDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getClientFirstName() {
+        return clientFirstName;
+    }
+
+    public String getClientLastName() {
+        return clientLastName;
+    }
+
+    /**
+     * Полное имя клиента для отображения в списке
+     */
+    public String getClientFullName() {
+        return clientFirstName + " " + clientLastName;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public ApplicationStatus getStatus() {
+        return status;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+}
@@ -0,0 +1,77 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Событие смены статуса кредитной заявки из outbox (таблица application_status_events)
+ * oldStatus = null - заявка создана
+ */
+public class ApplicationStatusEvent {
+
+    private final Long id;
+    private final Long applicationId;
+    private final Long clientId;
+    private final ApplicationStatus oldStatus;
+    private final ApplicationStatus newStatus;
+    private final BigDecimal amount;
+    private final Integer score;
+    private final LocalDateTime occurredAt;
+
+    public ApplicationStatusEvent(Long id, Long applicationId, Long clientId,
+                                  ApplicationStatus oldStatus, ApplicationStatus newStatus,
+                                  BigDecimal amount, Integer score, LocalDateTime occurredAt) {
+        this.id = id;
+        this.applicationId = applicationId;
+        this.clientId = clientId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.amount = amount;
+        this.score = score;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public ApplicationStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public ApplicationStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationStatusEvent{" +
+                "id=" + id +
+                ", applicationId=" + applicationId +
+                ", " + oldStatus + " → " + newStatus +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
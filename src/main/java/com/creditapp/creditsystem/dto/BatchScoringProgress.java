@@ -0,0 +1,141 @@
+package com.creditapp.creditsystem.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DTO прогресса пакетного скоринга заявок со статусом NEW
+ * Счетчики потокобезопасны: обновляются рабочими потоками и читаются при опросе статуса
+ */
+public class BatchScoringProgress {
+
+    /**
+     * Состояние пакетного задания
+     */
+    public enum State {
+        RUNNING,    // Выполняется
+        COMPLETED,  // Завершено
+        FAILED      // Прервано ошибкой
+    }
+
+    private volatile State state = State.RUNNING;
+    private final long total;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong approved = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startedNanos = System.nanoTime();
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String errorMessage;
+
+    /**
+     * @param total количество заявок NEW на момент запуска задания
+     */
+    public BatchScoringProgress(long total) {
+        this.total = total;
+    }
+
+    // Учет результата обработанной порции заявок
+    public void recordChunk(long approvedCount, long rejectedCount, long failedCount) {
+        approved.addAndGet(approvedCount);
+        rejected.addAndGet(rejectedCount);
+        failed.addAndGet(failedCount);
+        processed.addAndGet(approvedCount + rejectedCount + failedCount);
+        chunks.incrementAndGet();
+    }
+
+    public void complete() {
+        finish(State.COMPLETED, null);
+    }
+
+    public void fail(String message) {
+        finish(State.FAILED, message);
+    }
+
+    private void finish(State finalState, String message) {
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.errorMessage = message;
+        this.state = finalState;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isRunning() {
+        return state == State.RUNNING;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public long getApproved() {
+        return approved.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getChunks() {
+        return chunks.get();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Процент выполнения (заявки, поступившие после запуска, тоже обрабатываются, поэтому не больше 100)
+     */
+    public double getPercent() {
+        if (total == 0) {
+            return isRunning() ? 0.0 : 100.0;
+        }
+        return Math.min(100.0, getProcessed() * 100.0 / total);
+    }
+
+    /**
+     * Время выполнения задания в миллисекундах
+     */
+    public long getElapsedMillis() {
+        long end = isRunning() ? System.nanoTime() : finishedNanos;
+        return Duration.ofNanos(end - startedNanos).toMillis();
+    }
+
+    /**
+     * Пропускная способность, заявок в секунду
+     */
+    public double getThroughput() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0.0 : getProcessed() * 1000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchScoringProgress{state=%s, processed=%d/%d, approved=%d, rejected=%d, failed=%d, %.1f заявок/сек}",
+                state, getProcessed(), total, getApproved(), getRejected(), getFailed(), getThroughput());
+    }
+}
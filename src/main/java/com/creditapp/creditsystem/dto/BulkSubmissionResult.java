@@ -0,0 +1,116 @@
+package com.creditapp.creditsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO результата массовой подачи кредитных заявок
+ * Для каждой заявки из запроса содержит результат в том же порядке: ID созданной заявки или причину отказа
+ */
+public class BulkSubmissionResult {
+
+    private final List<ItemResult> items;
+    private long created;
+    private long failed;
+    private long queuedForScoring;
+    private long elapsedMillis;
+
+    public BulkSubmissionResult(int size) {
+        this.items = new ArrayList<>(size);
+    }
+
+    // Результат для очередной заявки из запроса
+    public ItemResult add(int index, String passportData) {
+        ItemResult item = new ItemResult(index, passportData);
+        items.add(item);
+        return item;
+    }
+
+    // Пересчет итоговых счетчиков по результатам заявок
+    public void summarize(long elapsedMillis) {
+        created = items.stream().filter(item -> item.getApplicationId() != null).count();
+        failed = items.size() - created;
+        queuedForScoring = items.stream().filter(ItemResult::isQueuedForScoring).count();
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<ItemResult> getItems() {
+        return items;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getQueuedForScoring() {
+        return queuedForScoring;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkSubmissionResult{" +
+                "total=" + items.size() +
+                ", created=" + created +
+                ", failed=" + failed +
+                ", queuedForScoring=" + queuedForScoring +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+
+    /**
+     * Результат по одной заявке из запроса
+     */
+    public static class ItemResult {
+
+        private final int index;
+        private final String passportData;
+        private Long applicationId;
+        private boolean queuedForScoring;
+        private String message;
+
+        public ItemResult(int index, String passportData) {
+            this.index = index;
+            this.passportData = passportData;
+        }
+
+        public void created(Long applicationId) {
+            this.applicationId = applicationId;
+        }
+
+        public void queued() {
+            this.queuedForScoring = true;
+        }
+
+        public void fail(String message) {
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getPassportData() {
+            return passportData;
+        }
+
+        public Long getApplicationId() {
+            return applicationId;
+        }
+
+        public boolean isQueuedForScoring() {
+            return queuedForScoring;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
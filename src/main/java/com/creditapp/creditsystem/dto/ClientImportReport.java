@@ -0,0 +1,125 @@
+package com.creditapp.creditsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO результата массового импорта клиентов
+ * Содержит счетчики строк, список ошибок по строкам файла и пропускную способность импорта
+ */
+public class ClientImportReport {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private long chunks;
+    private final List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+
+    // Максимальное количество ошибок в списке (счетчик failed учитывает все)
+    private final int errorLimit;
+
+    public ClientImportReport(int errorLimit) {
+        this.errorLimit = errorLimit;
+    }
+
+    // Учет прочитанной строки файла (пустые строки не учитываются)
+    public void recordRow() {
+        totalRows++;
+    }
+
+    // Учет записанной порции строк
+    public void recordChunk(int importedRows) {
+        imported += importedRows;
+        chunks++;
+    }
+
+    // Учет строки, не прошедшей проверку или вставку
+    public void addError(long line, String passportData, String message) {
+        failed++;
+        if (errors.size() < errorLimit) {
+            errors.add(new RowError(line, passportData, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getChunks() {
+        return chunks;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Пропускная способность импорта (строк в секунду)
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : totalRows * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientImportReport{" +
+                "totalRows=" + totalRows +
+                ", imported=" + imported +
+                ", failed=" + failed +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) +
+                '}';
+    }
+
+    /**
+     * Ошибка в строке файла импорта
+     */
+    public static class RowError {
+
+        private final long line;
+        private final String passportData;
+        private final String message;
+
+        public RowError(long line, String passportData, String message) {
+            this.line = line;
+            this.passportData = passportData;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getPassportData() {
+            return passportData;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
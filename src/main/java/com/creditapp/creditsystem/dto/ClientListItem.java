@@ -0,0 +1,50 @@
+package com.creditapp.creditsystem.dto;
+
+/**
+ * DTO строки списка клиентов (только для чтения)
+ * Содержит только отображаемые в списке колонки и заполняется конструктором в JPQL-запросе,
+ * поэтому сущности Client и их заявки не загружаются
+ */
+public class ClientListItem {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phoneNumber;
+    private final String passportData;
+
+    public ClientListItem(Long id, String firstName, String lastName, String email,
+                          String phoneNumber, String passportData) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.passportData = passportData;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getPassportData() {
+        return passportData;
+    }
+}
@@ -1,5 +1,7 @@
 package com.creditapp.creditsystem.dto;
 
+import com.creditapp.creditsystem.logging.LogMasking;
+
 import java.math.BigDecimal;
 
 /**
@@ -22,6 +24,13 @@ public class CreditApplicationRequest {
      */
     private BigDecimal amount;
 
+    /**
+     * Ключ идемпотентности (необязательный)
+     * Повторный запрос с тем же ключом в течение срока хранения возвращает уже созданную заявку
+     * Может также передаваться заголовком Idempotency-Key
+     */
+    private String idempotencyKey;
+
     // Конструкторы
 
     /**
@@ -80,6 +89,24 @@ public class CreditApplicationRequest {
         this.amount = amount;
     }
 
+    /**
+     * Получить ключ идемпотентности
+     *
+     * @return ключ идемпотентности или null
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    /**
+     * Установить ключ идемпотентности
+     *
+     * @param idempotencyKey ключ, уникальный для одной попытки создания заявки
+     */
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
     /**
      * Строковое представление объекта
      * Используется для логирования и отладки
@@ -89,23 +116,9 @@ public class CreditApplicationRequest {
     @Override
     public String toString() {
         return "CreditApplicationRequest{" +
-                "passportData='" + maskPassportData(passportData) + '\'' +
+                "passportData='" + LogMasking.passport(passportData) + '\'' +
                 ", amount=" + amount +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
                 '}';
     }
-
-    /**
-     * Вспомогательный метод для маскирования конфиденциальных данных
-     * Скрывает часть паспортных данных для безопасности в логах
-     *
-     * @param passportData исходные паспортные данные
-     * @return маскированные паспортные данные
-     */
-    private String maskPassportData(String passportData) {
-        if (passportData == null || passportData.length() < 4) {
-            return "****";
-        }
-        // Оставляем только первые 4 символа, остальные заменяем на *
-        return passportData.substring(0, 4) + "******";
-    }
-}
\ No newline at end of file
+}
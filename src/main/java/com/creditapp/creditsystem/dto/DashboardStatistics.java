@@ -0,0 +1,66 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * DTO сводной статистики для главной страницы, дашборда и страницы статистики
+ * Неизменяемый снимок: количество клиентов и количество заявок по каждому статусу
+ */
+public class DashboardStatistics {
+
+    private final long totalClients;
+    private final Map<ApplicationStatus, Long> applicationsByStatus;
+    private final LocalDateTime loadedAt;
+
+    public DashboardStatistics(long totalClients, Map<ApplicationStatus, Long> applicationsByStatus, LocalDateTime loadedAt) {
+        this.totalClients = totalClients;
+        this.applicationsByStatus = new EnumMap<>(ApplicationStatus.class);
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            this.applicationsByStatus.put(status, applicationsByStatus.getOrDefault(status, 0L));
+        }
+        this.loadedAt = loadedAt;
+    }
+
+    public long getTotalClients() {
+        return totalClients;
+    }
+
+    public long getCount(ApplicationStatus status) {
+        return applicationsByStatus.get(status);
+    }
+
+    public long getTotalApplications() {
+        return applicationsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getNewApplications() {
+        return getCount(ApplicationStatus.NEW);
+    }
+
+    public long getScoringApplications() {
+        return getCount(ApplicationStatus.SCORING);
+    }
+
+    public long getApprovedApplications() {
+        return getCount(ApplicationStatus.APPROVED);
+    }
+
+    public long getRejectedApplications() {
+        return getCount(ApplicationStatus.REJECTED);
+    }
+
+    /**
+     * Заявки в работе: новые и на скоринге
+     */
+    public long getPendingApplications() {
+        return getNewApplications() + getScoringApplications();
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+}
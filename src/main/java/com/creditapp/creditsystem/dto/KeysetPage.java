@@ -0,0 +1,91 @@
+package com.creditapp.creditsystem.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Страница результатов keyset-пагинации (seek по ID)
+ * Вместо номера страницы используется курсор - ID первой или последней записи страницы,
+ * поэтому запрос каждой страницы читает из индекса только нужные строки без OFFSET
+ *
+ * @param <T> тип элементов страницы
+ */
+public class KeysetPage<T> {
+
+    private final List<T> items;
+    private final int size;
+    private final Long prevCursor;
+    private final Long nextCursor;
+    private final boolean hasPrev;
+    private final boolean hasNext;
+
+    private KeysetPage(List<T> items, int size, Long prevCursor, Long nextCursor, boolean hasPrev, boolean hasNext) {
+        this.items = items;
+        this.size = size;
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+        this.hasPrev = hasPrev;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Построение страницы из результата запроса, выбравшего size + 1 строк
+     * Лишняя строка только показывает, что в направлении чтения есть еще данные
+     *
+     * @param fetched строки в порядке чтения (при чтении назад - в обратном порядке отображения)
+     * @param size размер страницы
+     * @param backward true если читали в сторону предыдущей страницы
+     * @param hasCursor true если страница запрошена от курсора (а не первая страница)
+     * @param idExtractor получение ID элемента для курсоров
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, boolean backward, boolean hasCursor,
+                                       Function<T, Long> idExtractor) {
+        boolean hasMore = fetched.size() > size;
+        List<T> items = new ArrayList<>(hasMore ? fetched.subList(0, size) : fetched);
+        if (backward) {
+            Collections.reverse(items);
+        }
+
+        boolean hasPrev = backward ? hasMore : hasCursor;
+        boolean hasNext = backward || hasMore;
+        Long prevCursor = items.isEmpty() ? null : idExtractor.apply(items.get(0));
+        Long nextCursor = items.isEmpty() ? null : idExtractor.apply(items.get(items.size() - 1));
+        return new KeysetPage<>(items, size, prevCursor, nextCursor, hasPrev && prevCursor != null, hasNext && nextCursor != null);
+    }
+
+    /**
+     * Размер страницы из запроса с учетом значения по умолчанию и максимума
+     */
+    public static int resolveSize(Integer requested, int defaultSize, int maxSize) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Long getPrevCursor() {
+        return prevCursor;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasPrev() {
+        return hasPrev;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
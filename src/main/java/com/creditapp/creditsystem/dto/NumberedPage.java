@@ -0,0 +1,59 @@
+package com.creditapp.creditsystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Страница результатов с пагинацией по номеру страницы
+ * Используется там, где порядок задается не ID (релевантность поиска, произвольная сортировка фильтра),
+ * поэтому keyset-курсор неприменим; глубина листания ограничивается вызывающим кодом
+ *
+ * @param <T> тип элементов страницы
+ */
+public class NumberedPage<T> {
+
+    private final List<T> items;
+    private final int number;
+    private final int size;
+    private final boolean hasNext;
+
+    private NumberedPage(List<T> items, int number, int size, boolean hasNext) {
+        this.items = items;
+        this.number = number;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Построение страницы из результата запроса, выбравшего size + 1 строк
+     *
+     * @param fetched строки в порядке выдачи
+     * @param number номер страницы (с нуля)
+     * @param size размер страницы
+     */
+    public static <T> NumberedPage<T> of(List<T> fetched, int number, int size) {
+        boolean hasMore = fetched.size() > size;
+        List<T> items = new ArrayList<>(hasMore ? fetched.subList(0, size) : fetched);
+        return new NumberedPage<>(items, number, size, hasMore);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasPrev() {
+        return number > 0;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
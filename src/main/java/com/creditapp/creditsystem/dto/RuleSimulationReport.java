@@ -0,0 +1,189 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO результата симуляции набора правил скоринга на исторических заявках
+ * Сравнивает фактические решения по заявкам с решениями, которые принял бы кандидатный набор правил.
+ * Частичные отчеты, собранные параллельно, объединяются методом merge
+ */
+public class RuleSimulationReport {
+
+    // Количество корзин гистограммы скоров: 0-9, 10-19, ..., 90-99, 100
+    public static final int HISTOGRAM_BUCKETS = 11;
+
+    private long totalApplications;
+    private long baselineApproved;
+    private long candidateApproved;
+    private long flippedToApproved;
+    private long flippedToRejected;
+    private final long[] baselineScoreHistogram = new long[HISTOGRAM_BUCKETS];
+    private final long[] candidateScoreHistogram = new long[HISTOGRAM_BUCKETS];
+    private final List<FlippedDecision> flippedDecisions = new ArrayList<>();
+    private boolean flippedDecisionsTruncated;
+    private long elapsedMillis;
+
+    // Максимальное количество измененных решений в списке (счетчики учитывают все)
+    private final int flippedLimit;
+
+    public RuleSimulationReport(int flippedLimit) {
+        this.flippedLimit = flippedLimit;
+    }
+
+    // Учет одной заявки
+    public void record(Long applicationId, ApplicationStatus baselineStatus, Integer baselineScore,
+                       ApplicationStatus candidateStatus, int candidateScore) {
+        totalApplications++;
+        if (baselineStatus == ApplicationStatus.APPROVED) {
+            baselineApproved++;
+        }
+        if (candidateStatus == ApplicationStatus.APPROVED) {
+            candidateApproved++;
+        }
+        if (baselineScore != null) {
+            baselineScoreHistogram[bucket(baselineScore)]++;
+        }
+        candidateScoreHistogram[bucket(candidateScore)]++;
+
+        if (baselineStatus != candidateStatus) {
+            if (candidateStatus == ApplicationStatus.APPROVED) {
+                flippedToApproved++;
+            } else {
+                flippedToRejected++;
+            }
+            addFlipped(new FlippedDecision(applicationId, baselineStatus, baselineScore, candidateStatus, candidateScore));
+        }
+    }
+
+    // Объединение с частичным отчетом
+    public void merge(RuleSimulationReport other) {
+        totalApplications += other.totalApplications;
+        baselineApproved += other.baselineApproved;
+        candidateApproved += other.candidateApproved;
+        flippedToApproved += other.flippedToApproved;
+        flippedToRejected += other.flippedToRejected;
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            baselineScoreHistogram[i] += other.baselineScoreHistogram[i];
+            candidateScoreHistogram[i] += other.candidateScoreHistogram[i];
+        }
+        for (FlippedDecision flipped : other.flippedDecisions) {
+            addFlipped(flipped);
+        }
+        flippedDecisionsTruncated |= other.flippedDecisionsTruncated;
+    }
+
+    private void addFlipped(FlippedDecision flipped) {
+        if (flippedDecisions.size() < flippedLimit) {
+            flippedDecisions.add(flipped);
+        } else {
+            flippedDecisionsTruncated = true;
+        }
+    }
+
+    private static int bucket(int score) {
+        return Math.max(0, Math.min(HISTOGRAM_BUCKETS - 1, score / 10));
+    }
+
+    public long getTotalApplications() {
+        return totalApplications;
+    }
+
+    public long getBaselineApproved() {
+        return baselineApproved;
+    }
+
+    public long getCandidateApproved() {
+        return candidateApproved;
+    }
+
+    public double getBaselineApprovalRate() {
+        return totalApplications == 0 ? 0.0 : (double) baselineApproved / totalApplications;
+    }
+
+    public double getCandidateApprovalRate() {
+        return totalApplications == 0 ? 0.0 : (double) candidateApproved / totalApplications;
+    }
+
+    /**
+     * Изменение доли одобренных заявок (кандидат минус факт)
+     */
+    public double getApprovalRateDelta() {
+        return getCandidateApprovalRate() - getBaselineApprovalRate();
+    }
+
+    public long getFlippedToApproved() {
+        return flippedToApproved;
+    }
+
+    public long getFlippedToRejected() {
+        return flippedToRejected;
+    }
+
+    public long[] getBaselineScoreHistogram() {
+        return baselineScoreHistogram;
+    }
+
+    public long[] getCandidateScoreHistogram() {
+        return candidateScoreHistogram;
+    }
+
+    public List<FlippedDecision> getFlippedDecisions() {
+        return flippedDecisions;
+    }
+
+    public boolean isFlippedDecisionsTruncated() {
+        return flippedDecisionsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Заявка, решение по которой изменилось бы при кандидатном наборе правил
+     */
+    public static class FlippedDecision {
+
+        private final Long applicationId;
+        private final ApplicationStatus baselineStatus;
+        private final Integer baselineScore;
+        private final ApplicationStatus candidateStatus;
+        private final int candidateScore;
+
+        public FlippedDecision(Long applicationId, ApplicationStatus baselineStatus, Integer baselineScore,
+                               ApplicationStatus candidateStatus, int candidateScore) {
+            this.applicationId = applicationId;
+            this.baselineStatus = baselineStatus;
+            this.baselineScore = baselineScore;
+            this.candidateStatus = candidateStatus;
+            this.candidateScore = candidateScore;
+        }
+
+        public Long getApplicationId() {
+            return applicationId;
+        }
+
+        public ApplicationStatus getBaselineStatus() {
+            return baselineStatus;
+        }
+
+        public Integer getBaselineScore() {
+            return baselineScore;
+        }
+
+        public ApplicationStatus getCandidateStatus() {
+            return candidateStatus;
+        }
+
+        public int getCandidateScore() {
+            return candidateScore;
+        }
+    }
+}
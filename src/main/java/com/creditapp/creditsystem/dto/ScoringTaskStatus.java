@@ -0,0 +1,105 @@
+package com.creditapp.creditsystem.dto;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO состояния асинхронного скоринга заявки
+ * Возвращается при постановке заявки в очередь и при опросе статуса
+ */
+public class ScoringTaskStatus {
+
+    /**
+     * Состояние задачи скоринга
+     */
+    public enum State {
+        QUEUED,     // В очереди
+        RUNNING,    // Выполняется
+        COMPLETED,  // Завершена
+        FAILED,     // Завершена с ошибкой
+        UNKNOWN     // Задачи нет в памяти (например, после перезапуска) - смотрите applicationStatus
+    }
+
+    private final Long applicationId;
+    private volatile State state;
+    private volatile ApplicationStatus applicationStatus;
+    private volatile Integer score;
+    private final LocalDateTime queuedAt;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    public ScoringTaskStatus(Long applicationId, State state, ApplicationStatus applicationStatus, LocalDateTime queuedAt) {
+        this.applicationId = applicationId;
+        this.state = state;
+        this.applicationStatus = applicationStatus;
+        this.queuedAt = queuedAt;
+    }
+
+    /**
+     * Состояние по данным заявки из БД, когда задачи скоринга нет в памяти
+     */
+    public static ScoringTaskStatus fromApplication(Long applicationId, ApplicationStatus applicationStatus, Integer score) {
+        ScoringTaskStatus status = new ScoringTaskStatus(applicationId, State.UNKNOWN, applicationStatus, null);
+        status.score = score;
+        return status;
+    }
+
+    public void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.state = State.RUNNING;
+    }
+
+    public void markCompleted(ApplicationStatus applicationStatus, Integer score) {
+        this.applicationStatus = applicationStatus;
+        this.score = score;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.COMPLETED;
+    }
+
+    public void markFailed(String errorMessage, ApplicationStatus applicationStatus) {
+        if (applicationStatus != null) {
+            this.applicationStatus = applicationStatus;
+        }
+        this.errorMessage = errorMessage;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.FAILED;
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    public Long getApplicationId() {
+        return applicationId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public ApplicationStatus getApplicationStatus() {
+        return applicationStatus;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
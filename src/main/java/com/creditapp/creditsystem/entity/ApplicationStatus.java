@@ -1,9 +1,36 @@
 package com.creditapp.creditsystem.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum ApplicationStatus {
     NEW,           // Новая
     SCORING,       // На скоринге
     APPROVED,      // Одобрена
-    REJECTED       // Отклонена
-}
+    REJECTED;      // Отклонена
+
+    // Допустимые переходы между статусами; APPROVED и REJECTED - окончательные решения
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> TRANSITIONS = new EnumMap<>(ApplicationStatus.class);
 
+    static {
+        // Скоринг или ручное решение оператора
+        TRANSITIONS.put(NEW, Collections.unmodifiableSet(EnumSet.of(SCORING, APPROVED, REJECTED)));
+        // Решение по скорингу, ручное решение или возврат в очередь после ошибки скоринга
+        TRANSITIONS.put(SCORING, Collections.unmodifiableSet(EnumSet.of(NEW, APPROVED, REJECTED)));
+        TRANSITIONS.put(APPROVED, Collections.unmodifiableSet(EnumSet.noneOf(ApplicationStatus.class)));
+        TRANSITIONS.put(REJECTED, Collections.unmodifiableSet(EnumSet.noneOf(ApplicationStatus.class)));
+    }
+
+    // Статусы, в которые можно перевести заявку из текущего
+    public Set<ApplicationStatus> getAllowedTransitions() {
+        return TRANSITIONS.get(this);
+    }
+
+    // Можно ли перевести заявку из текущего статуса в target
+    public boolean canTransitionTo(ApplicationStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+}
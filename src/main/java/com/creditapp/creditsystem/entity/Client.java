@@ -1,6 +1,9 @@
 package com.creditapp.creditsystem.entity;
 
+import com.creditapp.creditsystem.logging.LogMasking;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -10,8 +13,11 @@ import java.util.List;
  * Сущность Клиент (Client)
  * JPA entity для представления таблицы клиентов в базе данных
  * Содержит персональные данные клиента и связь с кредитными заявками
+ * Хранится в кеше второго уровня (регион clients), коллекция заявок не кешируется
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 @Table(name = "clients") // Указывает имя таблицы в базе данных
 public class Client {
 
@@ -225,7 +231,7 @@ public class Client {
                 "id=" + id +
                 ", firstName='" + firstName + '\'' +
                 ", lastName='" + lastName + '\'' +
-                ", passportData='" + passportData + '\'' +
+                ", passportData='" + LogMasking.passport(passportData) + '\'' +
                 ", phoneNumber='" + phoneNumber + '\'' +
                 ", email='" + email + '\'' +
                 ", createdDate=" + createdDate +
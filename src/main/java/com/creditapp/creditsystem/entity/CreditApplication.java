@@ -10,7 +10,17 @@ import java.time.LocalDateTime;
  * Содержит информацию о кредитной заявке, ее статусе и результатах скоринга
  */
 @Entity
-@Table(name = "credit_applications") // Указывает имя таблицы в базе данных
+@Table(name = "credit_applications", // Указывает имя таблицы в базе данных
+        indexes = {
+                // Подсчет более ранних заявок клиента при скоринге
+                @Index(name = "idx_credit_applications_client_creation", columnList = "client_id, creation_date"),
+                // Keyset-пагинация заявок по статусу
+                @Index(name = "idx_credit_applications_status_id", columnList = "status, id"),
+                // Комбинированный фильтр заявок (частичные индексы описаны только в миграции V2)
+                @Index(name = "idx_credit_applications_status_creation", columnList = "status, creation_date"),
+                @Index(name = "idx_credit_applications_creation_date", columnList = "creation_date"),
+                @Index(name = "idx_credit_applications_amount", columnList = "amount")
+        })
 public class CreditApplication {
 
     /**
@@ -51,8 +61,9 @@ public class CreditApplication {
     /**
      * Дата и время создания заявки
      * Автоматически устанавливается при создании объекта
+     * Ключ секционирования таблицы по месяцам (миграция V6), поэтому не изменяется
      */
-    @Column(name = "creation_date")
+    @Column(name = "creation_date", nullable = false, updatable = false)
     private LocalDateTime creationDate;
 
     /**
@@ -69,6 +80,15 @@ public class CreditApplication {
      */
     private Integer score;
 
+    /**
+     * Версия записи для оптимистичной блокировки
+     * Увеличивается при каждом изменении; сохранение заявки, измененной параллельно
+     * другим запросом, завершается OptimisticLockingFailureException вместо перезаписи
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Конструкторы
 
     /**
@@ -126,11 +146,19 @@ public class CreditApplication {
 
     /**
      * Установка статуса заявки с бизнес-логикой
+     * Переход проверяется по таблице ApplicationStatus (например, REJECTED -> SCORING запрещен),
+     * повторная установка текущего статуса ничего не меняет.
      * При установке статуса APPROVED или REJECTED автоматически устанавливается decisionDate
      *
      * @param status новый статус заявки
      */
     public void setStatus(ApplicationStatus status) {
+        if (this.status == status) {
+            return;
+        }
+        if (this.status != null && !this.status.canTransitionTo(status)) {
+            throw new RuntimeException("❌ Недопустимый переход статуса заявки " + id + ": " + this.status + " → " + status);
+        }
         this.status = status;
         // Автоматически устанавливаем дату решения при одобрении или отклонении
         if ((status == ApplicationStatus.APPROVED || status == ApplicationStatus.REJECTED)
@@ -155,6 +183,10 @@ public class CreditApplication {
         this.decisionDate = decisionDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Integer getScore() {
         return score;
     }
@@ -1,13 +1,20 @@
 package com.creditapp.creditsystem.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Сущность Правило скоринга (ScoringRule)
  * JPA entity для представления таблицы правил кредитного скоринга в базе данных
  * Хранит правила и условия для автоматического расчета кредитного рейтинга заявок
+ * ScoringRuleListener сообщает об изменениях правил для перестроения скомпилированного набора
+ * Правила меняются редко и хранятся в кеше второго уровня (регион scoringRules)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "scoringRules")
+@EntityListeners(ScoringRuleListener.class)
 @Table(name = "scoring_rules") // Указывает имя таблицы в базе данных
 public class ScoringRule {
 
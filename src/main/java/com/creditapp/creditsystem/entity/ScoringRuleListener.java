@@ -0,0 +1,25 @@
+package com.creditapp.creditsystem.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener для сущности ScoringRule
+ * Сообщает приложению об изменении правил, чтобы скомпилированный набор правил был перестроен
+ * Экземпляр создается Hibernate через Spring, поэтому внедрение зависимостей работает
+ */
+public class ScoringRuleListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRuleChanged(ScoringRule rule) {
+        eventPublisher.publishEvent(new ScoringRulesChangedEvent(rule.getId()));
+    }
+}
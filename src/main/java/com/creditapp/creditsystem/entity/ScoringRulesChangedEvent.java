@@ -0,0 +1,18 @@
+package com.creditapp.creditsystem.entity;
+
+/**
+ * Событие изменения правил скоринга
+ * Публикуется при сохранении, изменении или удалении ScoringRule
+ */
+public class ScoringRulesChangedEvent {
+
+    private final Long ruleId;
+
+    public ScoringRulesChangedEvent(Long ruleId) {
+        this.ruleId = ruleId;
+    }
+
+    public Long getRuleId() {
+        return ruleId;
+    }
+}
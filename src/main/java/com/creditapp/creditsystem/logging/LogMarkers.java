@@ -0,0 +1,19 @@
+package com.creditapp.creditsystem.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Маркеры событий журнала
+ */
+public final class LogMarkers {
+
+    /**
+     * Массовые отладочные события горячих путей (чтение по запросу, шаги скоринга)
+     * Записывается только доля таких событий (logging.sampling.rate, см. SamplingTurboFilter)
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,36 @@
+package com.creditapp.creditsystem.logging;
+
+/**
+ * Маскирование персональных данных перед записью в лог
+ */
+public final class LogMasking {
+
+    private LogMasking() {
+    }
+
+    /**
+     * Паспортные данные: остаются только первые 4 символа (серия), остальное заменяется на *
+     *
+     * @param passportData исходные паспортные данные
+     * @return маскированные паспортные данные
+     */
+    public static String passport(String passportData) {
+        if (passportData == null || passportData.length() < 4) {
+            return "****";
+        }
+        return passportData.substring(0, 4) + "******";
+    }
+
+    // Произвольный текст (например, поисковый запрос): все цифры заменяются на *, чтобы не попали паспорт и телефон
+    public static String digits(String text) {
+        if (text == null) {
+            return null;
+        }
+        StringBuilder masked = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            masked.append(Character.isDigit(c) ? '*' : c);
+        }
+        return masked.toString();
+    }
+}
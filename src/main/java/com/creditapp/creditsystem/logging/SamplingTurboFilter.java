@@ -0,0 +1,43 @@
+package com.creditapp.creditsystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Выборочная запись событий с маркером LogMarkers.SAMPLED (подключается в logback-spring.xml)
+ * Решение принимается до форматирования сообщения и постановки в очередь асинхронного appender'а,
+ * поэтому отброшенное событие почти ничего не стоит. События без маркера не затрагиваются
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    // Доля записываемых событий: 1 - все, 0 - ни одного
+    private double rate = 1.0;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || !marker.contains(LogMarkers.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Выключенный уровень отсекается обычной проверкой, случайное число не нужно
+        if (level != null && !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        if (rate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+}
@@ -1,9 +1,11 @@
 package com.creditapp.creditsystem.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.creditapp.creditsystem.dto.ClientListItem;
 import com.creditapp.creditsystem.entity.Client;
 
 import java.util.List;
@@ -17,6 +19,11 @@ import java.util.Optional;
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
 
+    /**
+     * Колонки проекции ClientListItem для списков клиентов
+     */
+    String LIST_ITEM = "new com.creditapp.creditsystem.dto.ClientListItem(c.id, c.firstName, c.lastName, c.email, c.phoneNumber, c.passportData)";
+
     /**
      * Поиск клиента по паспортным данным
      *
@@ -25,6 +32,15 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
      */
     Optional<Client> findByPassportData(String passportData);
 
+    /**
+     * ID клиента по паспортным данным (без загрузки сущности)
+     *
+     * @param passportData паспортные данные для поиска
+     * @return Optional с ID клиента, если найден
+     */
+    @Query("SELECT c.id FROM Client c WHERE c.passportData = :passportData")
+    Optional<Long> findIdByPassportData(@Param("passportData") String passportData);
+
     /**
      * Поиск клиента по email адресу
      *
@@ -70,4 +86,24 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
      * @return true если клиент с такими паспортными данными уже существует
      */
     boolean existsByPassportData(String passportData);
+
+    /**
+     * Keyset-пагинация списка клиентов: страница после курсора (по возрастанию ID)
+     *
+     * @param cursor ID последнего клиента предыдущей страницы
+     * @param pageable ограничение количества строк
+     * @return строки списка клиентов с ID больше курсора
+     */
+    @Query("SELECT " + LIST_ITEM + " FROM Client c WHERE c.id > :cursor ORDER BY c.id ASC")
+    List<ClientListItem> findPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    /**
+     * Keyset-пагинация списка клиентов: страница перед курсором (в обратном порядке)
+     *
+     * @param cursor ID первого клиента текущей страницы
+     * @param pageable ограничение количества строк
+     * @return строки списка клиентов с ID меньше курсора по убыванию ID
+     */
+    @Query("SELECT " + LIST_ITEM + " FROM Client c WHERE c.id < :cursor ORDER BY c.id DESC")
+    List<ClientListItem> findPageBefore(@Param("cursor") Long cursor, Pageable pageable);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.creditapp.creditsystem.repository;
 
+import com.creditapp.creditsystem.dto.ApplicationListItem;
 import com.creditapp.creditsystem.entity.ApplicationStatus;
 import com.creditapp.creditsystem.entity.CreditApplication;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,10 +11,14 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CreditApplicationRepository extends JpaRepository<CreditApplication, Long> {
+public interface CreditApplicationRepository extends JpaRepository<CreditApplication, Long>, CreditApplicationRepositoryCustom {
+
+    // Колонки проекции ApplicationListItem (ca - заявка, c - клиент)
+    String LIST_ITEM_COLUMNS = "ca.id, c.firstName, c.lastName, ca.amount, ca.status, ca.score, ca.creationDate";
 
     // Поиск заявок по статусу
     List<CreditApplication> findByStatus(ApplicationStatus status);
@@ -36,8 +42,72 @@ public interface CreditApplicationRepository extends JpaRepository<CreditApplica
     @Query("SELECT COUNT(ca) FROM CreditApplication ca WHERE ca.status = :status")
     long countByStatus(@Param("status") ApplicationStatus status);
 
+    // Количество заявок по всем статусам одним запросом: [статус, количество]
+    @Query("SELECT ca.status, COUNT(ca) FROM CreditApplication ca GROUP BY ca.status")
+    List<Object[]> countGroupedByStatus();
+
     // Поиск заявок с клиентами (жадная загрузка)
     @Query("SELECT ca FROM CreditApplication ca JOIN FETCH ca.client")
     List<CreditApplication> findAllWithClient();
+
+    // Количество заявок клиента, поданных раньше указанной даты (индекс idx_credit_applications_client_creation)
+    // Учитывает только подключенные секции, архивные заявки считает countArchivedApplicationsBefore
+    long countByClientIdAndCreationDateBefore(Long clientId, LocalDateTime creationDate);
+
+    // Количество заявок клиента в архивных месяцах до месяца указанной даты (миграция V9)
+    // Месяц самой заявки в архиве быть не может: ее секция еще подключена
+    @Query(value = "SELECT CAST(COALESCE(SUM(applications), 0) AS BIGINT) FROM archived_application_counts " +
+            "WHERE client_id = :clientId AND month < date_trunc('month', CAST(:creationDate AS TIMESTAMP))",
+            nativeQuery = true)
+    long countArchivedApplicationsBefore(@Param("clientId") Long clientId, @Param("creationDate") LocalDateTime creationDate);
+
+    // Keyset-пагинация списка заявок (новые сверху): следующая страница - заявки с ID меньше курсора
+    // Ключ - только id: он выдается последовательностью при вставке, а creation_date по умолчанию - момент вставки,
+    // поэтому порядок id совпадает с порядком подачи (кроме заявок с явно заданной датой, например демо-данных).
+    // id уникален и дает однозначный курсор из одного числа; на секционированной таблице ORDER BY id LIMIT
+    // читается слиянием индексов (id, creation_date) секций. Сортировка по самой дате - в filterApplications
+    // Возвращает проекции строк списка вместе с именем клиента одним запросом
+    @Query("SELECT new com.creditapp.creditsystem.dto.ApplicationListItem(" + LIST_ITEM_COLUMNS + ") " +
+            "FROM CreditApplication ca JOIN ca.client c WHERE ca.id < :cursor ORDER BY ca.id DESC")
+    List<ApplicationListItem> findPageBefore(@Param("cursor") Long cursor, Pageable pageable);
+
+    // Keyset-пагинация списка заявок: предыдущая страница - заявки с ID больше курсора (в обратном порядке)
+    @Query("SELECT new com.creditapp.creditsystem.dto.ApplicationListItem(" + LIST_ITEM_COLUMNS + ") " +
+            "FROM CreditApplication ca JOIN ca.client c WHERE ca.id > :cursor ORDER BY ca.id ASC")
+    List<ApplicationListItem> findPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    // Keyset-пагинация заявок со статусом (индекс idx_credit_applications_status_id)
+    @Query("SELECT new com.creditapp.creditsystem.dto.ApplicationListItem(" + LIST_ITEM_COLUMNS + ") " +
+            "FROM CreditApplication ca JOIN ca.client c WHERE ca.status = :status AND ca.id < :cursor ORDER BY ca.id DESC")
+    List<ApplicationListItem> findPageByStatusBefore(@Param("status") ApplicationStatus status,
+                                                     @Param("cursor") Long cursor,
+                                                     Pageable pageable);
+
+    @Query("SELECT new com.creditapp.creditsystem.dto.ApplicationListItem(" + LIST_ITEM_COLUMNS + ") " +
+            "FROM CreditApplication ca JOIN ca.client c WHERE ca.status = :status AND ca.id > :cursor ORDER BY ca.id ASC")
+    List<ApplicationListItem> findPageByStatusAfter(@Param("status") ApplicationStatus status,
+                                                    @Param("cursor") Long cursor,
+                                                    Pageable pageable);
+
+    // Порция заявок с указанным статусом после заданного ID (для пакетной обработки, размер порции задает pageable)
+    @Query("SELECT ca FROM CreditApplication ca WHERE ca.status = :status AND ca.id > :afterId ORDER BY ca.id")
+    List<CreditApplication> findChunkByStatus(@Param("status") ApplicationStatus status,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+
+    // Количество более ранних заявок клиента для каждой заявки из списка одним запросом: [id заявки, количество]
+    // Заявки без более ранних в результат не попадают
+    @Query("SELECT ca.id, COUNT(prev.id) FROM CreditApplication ca, CreditApplication prev " +
+            "WHERE ca.id IN :ids AND prev.client = ca.client AND prev.creationDate < ca.creationDate " +
+            "GROUP BY ca.id")
+    List<Object[]> countPreviousApplicationsByIds(@Param("ids") Collection<Long> ids);
+
+    // Количество архивных заявок клиента до месяца каждой заявки из списка: [id заявки, количество]
+    @Query(value = "SELECT ca.id, CAST(SUM(h.applications) AS BIGINT) FROM credit_applications ca " +
+            "JOIN archived_application_counts h ON h.client_id = ca.client_id " +
+            "AND h.month < date_trunc('month', ca.creation_date) " +
+            "WHERE ca.id IN (:ids) GROUP BY ca.id",
+            nativeQuery = true)
+    List<Object[]> countArchivedApplicationsByIds(@Param("ids") Collection<Long> ids);
 }
 
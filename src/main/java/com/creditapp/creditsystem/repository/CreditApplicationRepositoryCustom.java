@@ -0,0 +1,40 @@
+package com.creditapp.creditsystem.repository;
+
+import com.creditapp.creditsystem.dto.ApplicationExportRow;
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.dto.ApplicationListItem;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Дополнительные методы репозитория заявок с динамически собираемыми запросами
+ * Реализация - CreditApplicationRepositoryImpl (подключается Spring Data по суффиксу Impl)
+ */
+public interface CreditApplicationRepositoryCustom {
+
+    /**
+     * Потоковая выгрузка заявок по фильтру
+     * Строки читаются курсором порциями fetchSize, поэтому поток нужно закрыть и читать внутри транзакции
+     *
+     * @param filter условия отбора (пустые поля не ограничивают выборку)
+     * @param fetchSize количество строк, получаемых от БД за один раз
+     * @return поток строк выгрузки в порядке ID
+     */
+    Stream<ApplicationExportRow> streamForExport(ApplicationFilter filter, int fetchSize);
+
+    /**
+     * Строки списка заявок по спецификации с сортировкой и ограничением выборки
+     * Подсчет общего количества не выполняется: наличие следующей страницы определяется по лишней строке
+     *
+     * @param specification условия отбора
+     * @param sort сортировка (дополняется сортировкой по ID для стабильного порядка)
+     * @param offset количество пропускаемых строк
+     * @param limit максимальное количество строк
+     * @return строки списка заявок вместе с именем клиента
+     */
+    List<ApplicationListItem> findListItems(Specification<CreditApplication> specification, Sort sort, int offset, int limit);
+}
@@ -0,0 +1,89 @@
+package com.creditapp.creditsystem.repository;
+
+import com.creditapp.creditsystem.dto.ApplicationExportRow;
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.dto.ApplicationListItem;
+import com.creditapp.creditsystem.entity.Client;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Реализация дополнительных методов репозитория заявок
+ * Запросы строятся через Criteria API по тем же спецификациям, что и фильтр заявок
+ */
+public class CreditApplicationRepositoryImpl implements CreditApplicationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<ApplicationExportRow> streamForExport(ApplicationFilter filter, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationExportRow> query = cb.createQuery(ApplicationExportRow.class);
+        Root<CreditApplication> root = query.from(CreditApplication.class);
+        Join<CreditApplication, Client> client = root.join("client");
+
+        query.select(cb.construct(ApplicationExportRow.class,
+                root.get("id"), client.get("id"), client.get("firstName"), client.get("lastName"),
+                root.get("amount"), root.get("status"), root.get("score"),
+                root.get("creationDate"), root.get("decisionDate")));
+        applySpecification(CreditApplicationSpecifications.matching(filter), root, query, cb);
+        query.orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<ApplicationExportRow> typedQuery = entityManager.createQuery(query);
+        typedQuery.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        typedQuery.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return typedQuery.getResultStream();
+    }
+
+    @Override
+    public List<ApplicationListItem> findListItems(Specification<CreditApplication> specification, Sort sort,
+                                                   int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ApplicationListItem> query = cb.createQuery(ApplicationListItem.class);
+        Root<CreditApplication> root = query.from(CreditApplication.class);
+        Join<CreditApplication, Client> client = root.join("client");
+
+        query.select(cb.construct(ApplicationListItem.class,
+                root.get("id"), client.get("firstName"), client.get("lastName"),
+                root.get("amount"), root.get("status"), root.get("score"), root.get("creationDate")));
+        applySpecification(specification, root, query, cb);
+
+        // ID в конце сортировки делает порядок однозначным при совпадающих значениях
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, root, cb));
+        if (sort.getOrderFor("id") == null) {
+            orders.add(cb.desc(root.get("id")));
+        }
+        query.orderBy(orders);
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    private static void applySpecification(Specification<CreditApplication> specification, Root<CreditApplication> root,
+                                           CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.creditapp.creditsystem.repository;
+
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Условия отбора кредитных заявок для JPA Specifications
+ * Каждое условие соответствует одному полю ApplicationFilter; незаполненные поля в запрос не попадают,
+ * поэтому PostgreSQL получает только реальные предикаты и может выбрать подходящий индекс
+ */
+public final class CreditApplicationSpecifications {
+
+    private CreditApplicationSpecifications() {
+    }
+
+    /**
+     * Спецификация, объединяющая через AND все заполненные условия фильтра
+     */
+    public static Specification<CreditApplication> matching(ApplicationFilter filter) {
+        List<Specification<CreditApplication>> conditions = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            conditions.add(hasStatus(filter.getStatus()));
+        }
+        if (filter.getClientId() != null) {
+            conditions.add(hasClient(filter.getClientId()));
+        }
+        if (filter.getMinAmount() != null) {
+            conditions.add(amountAtLeast(filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            conditions.add(amountAtMost(filter.getMaxAmount()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            conditions.add(createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            conditions.add(createdBefore(filter.getCreatedTo()));
+        }
+        if (filter.getMinScore() != null) {
+            conditions.add(scoreAtLeast(filter.getMinScore()));
+        }
+        if (filter.getMaxScore() != null) {
+            conditions.add(scoreAtMost(filter.getMaxScore()));
+        }
+        return Specification.allOf(conditions);
+    }
+
+    public static Specification<CreditApplication> hasStatus(ApplicationStatus status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Сравнение по внешнему ключу client_id, без JOIN с таблицей клиентов
+    public static Specification<CreditApplication> hasClient(Long clientId) {
+        return (root, query, cb) -> cb.equal(root.get("client").get("id"), clientId);
+    }
+
+    public static Specification<CreditApplication> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<CreditApplication> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    public static Specification<CreditApplication> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("creationDate"), from);
+    }
+
+    public static Specification<CreditApplication> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("creationDate"), to);
+    }
+
+    public static Specification<CreditApplication> scoreAtLeast(Integer minScore) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("score"), minScore);
+    }
+
+    public static Specification<CreditApplication> scoreAtMost(Integer maxScore) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("score"), maxScore);
+    }
+}
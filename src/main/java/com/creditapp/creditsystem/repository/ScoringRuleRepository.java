@@ -1,7 +1,10 @@
 package com.creditapp.creditsystem.repository;
 
 import com.creditapp.creditsystem.entity.ScoringRule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,6 +13,11 @@ import java.util.List;
 public interface ScoringRuleRepository extends JpaRepository<ScoringRule, Long> {
 
     // Поиск активных правил
+    // Результат кешируется (регион scoringRules.active) и сбрасывается Hibernate при любом изменении scoring_rules
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "scoringRules.active")
+    })
     List<ScoringRule> findByActiveTrue();
 
     // Поиск по названию правила
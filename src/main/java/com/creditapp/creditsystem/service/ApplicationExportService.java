@@ -0,0 +1,167 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ApplicationExportRow;
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая выгрузка кредитных заявок в CSV или NDJSON
+ * Строки читаются курсором внутри read-only транзакции и сразу пишутся в выходной поток,
+ * поэтому расход памяти не зависит от количества выгружаемых заявок
+ */
+@Service
+public class ApplicationExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationExportService.class);
+
+    /**
+     * Формат выгрузки
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String CSV_HEADER =
+            "id,client_id,client_first_name,client_last_name,amount,status,score,creation_date,decision_date";
+
+    @Autowired
+    private CreditApplicationRepository creditApplicationRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Отдельный шаблон, чтобы read-only не влиял на остальные операции приложения
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    // Количество строк, получаемых от PostgreSQL за один раз
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // Выгрузка заявок по фильтру в выходной поток; возвращает количество выгруженных строк
+    public long export(ApplicationFilter filter, ExportFormat format, OutputStream out) {
+        log.info("Выгрузка заявок в {} по фильтру: {}", format, filter);
+        long started = System.nanoTime();
+
+        // Курсор PostgreSQL работает только внутри транзакции (autocommit = false)
+        Long exported = readOnlyTransactionTemplate.execute(status -> {
+            try (Stream<ApplicationExportRow> rows = creditApplicationRepository.streamForExport(filter, fetchSize)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                long count = format == ExportFormat.CSV
+                        ? writeCsv(rows.iterator(), writer)
+                        : writeNdjson(rows.iterator(), writer);
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException("❌ Ошибка записи выгрузки: " + e.getMessage(), e);
+            }
+        });
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.atInfo().addKeyValue("exported", exported).addKeyValue("elapsedMs", elapsedMs).log("Выгрузка заявок завершена");
+        return exported == null ? 0 : exported;
+    }
+
+    private long writeCsv(Iterator<ApplicationExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            ApplicationExportRow row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getClientId()));
+            writer.write(',');
+            writer.write(csvValue(row.getClientFirstName()));
+            writer.write(',');
+            writer.write(csvValue(row.getClientLastName()));
+            writer.write(',');
+            writer.write(row.getAmount() == null ? "" : row.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(row.getStatus() == null ? "" : row.getStatus().name());
+            writer.write(',');
+            writer.write(row.getScore() == null ? "" : row.getScore().toString());
+            writer.write(',');
+            writer.write(row.getCreationDate() == null ? "" : row.getCreationDate().toString());
+            writer.write(',');
+            writer.write(row.getDecisionDate() == null ? "" : row.getDecisionDate().toString());
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<ApplicationExportRow> rows, Writer writer) throws IOException {
+        long count = 0;
+        // Каждая строка - отдельный JSON-объект, разделитель - перевод строки.
+        // SequenceWriter не закрывается: иначе вместе с ним закроется поток ответа
+        SequenceWriter sequence = objectMapper.writerFor(ApplicationExportRow.class)
+                .withRootValueSeparator("\n")
+                .writeValues(writer);
+        while (rows.hasNext()) {
+            sequence.write(rows.next());
+            count++;
+        }
+        sequence.flush();
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    // Экранирование значения CSV: кавычки, запятые и переводы строк оборачиваются в двойные кавычки
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,140 @@
+package com.creditapp.creditsystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Обслуживание месячных секций credit_applications (миграция V6)
+ * Заранее создает секции на ближайшие месяцы, чтобы новые заявки не попадали в секцию по умолчанию,
+ * и переносит в схему archive старые секции, в которых все заявки уже получили решение.
+ * Отсоединенная секция остается в БД как обычная таблица archive.credit_applications_pYYYYMM
+ * и больше не читается запросами к заявкам; количество заявок клиентов в ней сохраняется
+ * в archived_application_counts и учитывается скорингом как кредитная история
+ */
+@Service
+public class ApplicationPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "credit_applications_p";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String CREATE_PARTITION_SQL = "SELECT create_credit_applications_partition(?)";
+
+    // Месячные секции, подключенные к credit_applications текущей схемы
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'credit_applications'::regclass AND c.relname ~ '^credit_applications_p[0-9]{6}$' " +
+            "ORDER BY c.relname";
+
+    private static final String ARCHIVE_EXISTS_SQL = "SELECT to_regclass('archive.' || ?) IS NOT NULL";
+
+    // Количество заявок клиентов в переносимой секции сохраняется для истории скоринга (миграция V9)
+    private static final String ARCHIVED_COUNTS_SQL =
+            "INSERT INTO archived_application_counts (client_id, month, applications) " +
+            "SELECT client_id, ?, COUNT(*) FROM %s GROUP BY client_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // На сколько месяцев вперед держать готовые секции
+    @Value("${applications.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // Перенос старых секций в архив
+    @Value("${applications.archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    // Через сколько дней после окончания месяца его секция может уйти в архив
+    @Value("${applications.archive.retention-days:90}")
+    private int retentionDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintain();
+    }
+
+    // Ежедневное обслуживание секций
+    @Scheduled(cron = "${applications.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintain() {
+        createUpcomingPartitions();
+        if (archiveEnabled) {
+            archiveDecidedPartitions();
+        }
+    }
+
+    // Создание секций с текущего месяца на monthsAhead вперед
+    public void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate monthStart = current.plusMonths(i).atDay(1);
+            try {
+                jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, String.class, monthStart);
+            } catch (DataAccessException e) {
+                // Например, секция по умолчанию уже содержит заявки этого месяца
+                log.warn("Не удалось создать секцию заявок за {}: {}", monthStart, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Перенос в архив секций, месяц которых закончился более retentionDays дней назад
+     * и в которых нет заявок в статусах NEW и SCORING
+     *
+     * @return количество перенесенных секций
+     */
+    public int archiveDecidedPartitions() {
+        LocalDate archiveBefore = LocalDate.now().minusDays(retentionDays);
+        int archived = 0;
+
+        for (String partition : jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class)) {
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_MONTH);
+            if (month.plusMonths(1).atDay(1).isAfter(archiveBefore)) {
+                continue;
+            }
+            if (hasOpenApplications(partition)) {
+                log.info("Секция {} содержит заявки без решения, архивация отложена", partition);
+                continue;
+            }
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(ARCHIVE_EXISTS_SQL, Boolean.class, partition))) {
+                log.warn("Таблица archive.{} уже существует, секция не перенесена", partition);
+                continue;
+            }
+
+            // Счетчики истории, отсоединение и перенос в одной транзакции: секция не может потеряться между шагами,
+            // а число более ранних заявок клиента при скоринге не меняется после архивации
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(String.format(ARCHIVED_COUNTS_SQL, partition), month.atDay(1));
+                jdbcTemplate.execute("ALTER TABLE credit_applications DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA archive");
+            });
+            archived++;
+            log.info("Секция {} перенесена в схему archive", partition);
+        }
+        return archived;
+    }
+
+    // Имя секции проверено регулярным выражением в LIST_PARTITIONS_SQL
+    private boolean hasOpenApplications(String partition) {
+        List<Integer> open = jdbcTemplate.queryForList(
+                "SELECT 1 FROM " + partition + " WHERE status IN ('NEW', 'SCORING') LIMIT 1", Integer.class);
+        return !open.isEmpty();
+    }
+}
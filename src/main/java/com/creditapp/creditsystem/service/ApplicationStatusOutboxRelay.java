@@ -0,0 +1,163 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ApplicationStatusEvent;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ретранслятор outbox событий смены статуса заявок (таблица application_status_events, миграция V8)
+ * Периодически забирает неопубликованные события порциями по возрастанию id, передает их в StatusEventSink
+ * и отмечает опубликованными в той же транзакции. Если получатель не принял порцию, транзакция
+ * откатывается и порция уходит повторно в следующий раз. На нескольких экземплярах приложения
+ * порцию публикует только владелец транзакционной advisory-блокировки: параллельные ретрансляторы
+ * могли бы отправить события одной заявки не в порядке id, поэтому остальные пропускают запуск
+ */
+@Service
+public class ApplicationStatusOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationStatusOutboxRelay.class);
+
+    // Ключ advisory-блокировки ретранслятора, общий для всех экземпляров приложения
+    private static final long RELAY_LOCK_KEY = 8_001_023L;
+
+    // Блокировка снимается при завершении транзакции порции
+    private static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, application_id, client_id, old_status, new_status, amount, score, occurred_at " +
+            "FROM application_status_events WHERE published_at IS NULL ORDER BY id LIMIT ?";
+
+    private static final String MARK_SQL =
+            "UPDATE application_status_events SET published_at = ? WHERE id = ?";
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM application_status_events WHERE published_at IS NOT NULL AND published_at <= ?";
+
+    private static final RowMapper<ApplicationStatusEvent> EVENT_MAPPER = (rs, rowNum) -> {
+        String oldStatus = rs.getString("old_status");
+        return new ApplicationStatusEvent(
+                rs.getLong("id"),
+                rs.getLong("application_id"),
+                rs.getLong("client_id"),
+                oldStatus != null ? ApplicationStatus.valueOf(oldStatus) : null,
+                ApplicationStatus.valueOf(rs.getString("new_status")),
+                rs.getBigDecimal("amount"),
+                (Integer) rs.getObject("score"),
+                rs.getTimestamp("occurred_at").toLocalDateTime());
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StatusEventSink sink;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Публикация событий (false - события копятся в таблице)
+    @Value("${applications.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    // Размер порции событий за одну транзакцию
+    @Value("${applications.outbox.batch-size:500}")
+    private int batchSize;
+
+    // Срок хранения опубликованных событий в таблице
+    @Value("${applications.outbox.retention-days:7}")
+    private int retentionDays;
+
+    private Counter publishedCounter;
+    private Counter failuresCounter;
+
+    @PostConstruct
+    public void init() {
+        publishedCounter = Counter.builder("applications.outbox.published")
+                .description("Опубликованные события смены статуса заявок")
+                .tag("sink", sink.getClass().getSimpleName())
+                .register(meterRegistry);
+        failuresCounter = Counter.builder("applications.outbox.failures")
+                .description("Неудачные попытки публикации порции событий")
+                .tag("sink", sink.getClass().getSimpleName())
+                .register(meterRegistry);
+    }
+
+    // Публикация всех накопившихся событий порциями
+    @Scheduled(fixedDelayString = "${applications.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize);
+        } catch (Exception e) {
+            failuresCounter.increment();
+            log.error("Ошибка публикации событий статусов заявок, повтор через интервал ретранслятора", e);
+        }
+    }
+
+    /**
+     * Публикация одной порции неопубликованных событий
+     *
+     * @return количество опубликованных событий (0 - очередь пуста или порцию публикует другой экземпляр)
+     */
+    public int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, RELAY_LOCK_KEY))) {
+                log.debug("Ретранслятор событий работает на другом экземпляре, запуск пропущен");
+                return 0;
+            }
+            List<ApplicationStatusEvent> events = jdbcTemplate.query(SELECT_SQL, EVENT_MAPPER, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                throw new RuntimeException("❌ Получатель событий не принял порцию: " + e.getMessage(), e);
+            }
+
+            Timestamp publishedAt = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(events.size());
+            for (ApplicationStatusEvent event : events) {
+                args.add(new Object[]{publishedAt, event.getId()});
+            }
+            jdbcTemplate.batchUpdate(MARK_SQL, args);
+            return events.size();
+        });
+        int count = published != null ? published : 0;
+        publishedCounter.increment(count);
+        return count;
+    }
+
+    // Ежедневное удаление опубликованных событий старше срока хранения
+    @Scheduled(cron = "${applications.outbox.cleanup-cron:0 0 3 * * *}")
+    public void cleanup() {
+        int removed = jdbcTemplate.update(CLEANUP_SQL, Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        if (removed > 0) {
+            log.info("Удалено опубликованных событий статусов заявок: {}", removed);
+        }
+    }
+}
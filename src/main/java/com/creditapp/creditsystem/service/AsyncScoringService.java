@@ -0,0 +1,225 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ScoringTaskStatus;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.logging.CorrelationIdFilter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронный скоринг заявок
+ * Запрос только переводит заявку в SCORING и ставит ее в очередь, расчет выполняют рабочие потоки.
+ * Состояние задач хранится в памяти и доступно для опроса
+ */
+@Service
+public class AsyncScoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncScoringService.class);
+
+    private static final String CLAIM_SQL =
+            "UPDATE credit_applications SET status = 'SCORING', version = version + 1 WHERE id = ? AND status = 'NEW'";
+    private static final String RELEASE_SQL =
+            "UPDATE credit_applications SET status = 'NEW', version = version + 1 WHERE id = ? AND status = 'SCORING'";
+
+    @Autowired
+    private CreditApplicationService creditApplicationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Количество рабочих потоков скоринга
+    @Value("${scoring.async.workers:4}")
+    private int workers;
+
+    // Максимальное количество заявок в очереди
+    @Value("${scoring.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // Сколько минут хранить состояние завершенных задач
+    @Value("${scoring.async.retention-minutes:10}")
+    private long retentionMinutes;
+
+    private ThreadPoolExecutor executor;
+
+    // Состояние задач скоринга по ID заявки
+    private final Map<Long, ScoringTaskStatus> tasks = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "scoring-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    // Постановка заявки в очередь скоринга
+    public ScoringTaskStatus submit(Long applicationId) {
+        // Повторная отправка уже стоящей в очереди заявки ничего не делает
+        ScoringTaskStatus existing = tasks.get(applicationId);
+        if (existing != null && existing.isActive()) {
+            return existing;
+        }
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RuntimeException("❌ Очередь скоринга переполнена, повторите позже");
+        }
+
+        CreditApplication application = creditApplicationService.markScoring(applicationId);
+        ScoringTaskStatus task = new ScoringTaskStatus(applicationId, ScoringTaskStatus.State.QUEUED,
+                application.getStatus(), LocalDateTime.now());
+        tasks.put(applicationId, task);
+
+        try {
+            executor.execute(CorrelationIdFilter.withMdc(() -> process(task)));
+        } catch (RejectedExecutionException e) {
+            // Заявка возвращается в NEW и может быть отправлена повторно
+            fail(task, "Очередь скоринга переполнена");
+            throw new RuntimeException("❌ Очередь скоринга переполнена, повторите позже");
+        }
+        log.atInfo().addKeyValue("applicationId", applicationId).addKeyValue("queueSize", executor.getQueue().size())
+                .log("Заявка поставлена в очередь скоринга");
+        return task;
+    }
+
+    /**
+     * Постановка в очередь списка новых заявок (массовая подача)
+     * Заявки переводятся NEW -> SCORING одним пакетным UPDATE, как порция пакетного скоринга,
+     * а не отдельной транзакцией на каждую; не поместившиеся в очередь возвращаются в NEW тоже одним пакетом
+     *
+     * @param applicationIds ID заявок в статусе NEW
+     * @return ID заявок, поставленных в очередь (заявки не в статусе NEW пропускаются)
+     */
+    public Set<Long> submitAll(List<Long> applicationIds) {
+        List<Object[]> args = new ArrayList<>(applicationIds.size());
+        for (Long applicationId : applicationIds) {
+            args.add(new Object[]{applicationId});
+        }
+        int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(CLAIM_SQL, args));
+
+        Set<Long> queued = new LinkedHashSet<>();
+        List<ScoringTaskStatus> rejected = new ArrayList<>();
+        for (int i = 0; i < applicationIds.size(); i++) {
+            if (updated != null && updated[i] == 0) {
+                continue;
+            }
+            ScoringTaskStatus task = new ScoringTaskStatus(applicationIds.get(i), ScoringTaskStatus.State.QUEUED,
+                    ApplicationStatus.SCORING, LocalDateTime.now());
+            tasks.put(task.getApplicationId(), task);
+            try {
+                executor.execute(CorrelationIdFilter.withMdc(() -> process(task)));
+                queued.add(task.getApplicationId());
+            } catch (RejectedExecutionException e) {
+                rejected.add(task);
+            }
+        }
+
+        if (!rejected.isEmpty()) {
+            releaseAll(rejected);
+        }
+        log.atInfo().addKeyValue("applications", queued.size()).addKeyValue("rejected", rejected.size())
+                .addKeyValue("queueSize", executor.getQueue().size()).log("Заявки поставлены в очередь скоринга");
+        return queued;
+    }
+
+    // Состояние скоринга заявки: из памяти, а если задачи нет - по данным заявки с основной БД
+    public ScoringTaskStatus getStatus(Long applicationId) {
+        ScoringTaskStatus task = tasks.get(applicationId);
+        if (task != null) {
+            return task;
+        }
+        CreditApplication application = creditApplicationService.getCurrentApplicationById(applicationId)
+                .orElseThrow(() -> new RuntimeException("❌ Заявка с ID " + applicationId + " не найдена"));
+        return ScoringTaskStatus.fromApplication(applicationId, application.getStatus(), application.getScore());
+    }
+
+    // Количество заявок, ожидающих скоринга
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    private void process(ScoringTaskStatus task) {
+        task.markRunning();
+        try {
+            // Загрузка, расчет и сохранение в одной транзакции (с повтором при конфликте версий)
+            CreditApplication scored = creditApplicationService.completeScoring(task.getApplicationId());
+            task.markCompleted(scored.getStatus(), scored.getScore());
+        } catch (Exception e) {
+            log.atError().addKeyValue("applicationId", task.getApplicationId()).setCause(e).log("Ошибка асинхронного скоринга заявки");
+            fail(task, e.getMessage());
+        }
+    }
+
+    // Завершение задачи с ошибкой: заявка возвращается из SCORING в NEW, как при сбое пакетного скоринга
+    private void fail(ScoringTaskStatus task, String errorMessage) {
+        ApplicationStatus applicationStatus = null;
+        try {
+            applicationStatus = creditApplicationService.releaseScoring(task.getApplicationId()).getStatus();
+        } catch (Exception e) {
+            log.atWarn().addKeyValue("applicationId", task.getApplicationId()).setCause(e)
+                    .log("Не удалось вернуть заявку в статус NEW после ошибки скоринга");
+        }
+        task.markFailed(errorMessage, applicationStatus);
+    }
+
+    // Возврат в NEW заявок, не поместившихся в очередь, одним пакетным UPDATE
+    private void releaseAll(List<ScoringTaskStatus> rejected) {
+        List<Object[]> args = new ArrayList<>(rejected.size());
+        for (ScoringTaskStatus task : rejected) {
+            args.add(new Object[]{task.getApplicationId()});
+        }
+        ApplicationStatus applicationStatus = ApplicationStatus.NEW;
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(RELEASE_SQL, args));
+        } catch (Exception e) {
+            log.atWarn().addKeyValue("applications", rejected.size()).setCause(e)
+                    .log("Не удалось вернуть заявки в статус NEW после переполнения очереди скоринга");
+            applicationStatus = null;
+        }
+        for (ScoringTaskStatus task : rejected) {
+            task.markFailed("Очередь скоринга переполнена", applicationStatus);
+        }
+    }
+
+    // Удаление состояния давно завершенных задач по расписанию, а не при постановке в очередь:
+    // полный обход карты на каждом submit при массовой подаче давал квадратичную сложность
+    @Scheduled(fixedDelayString = "${scoring.async.eviction-interval-ms:60000}")
+    public void evictFinishedTasks() {
+        LocalDateTime threshold = LocalDateTime.now().minusMinutes(retentionMinutes);
+        tasks.values().removeIf(task -> !task.isActive()
+                && task.getFinishedAt() != null
+                && task.getFinishedAt().isBefore(threshold));
+    }
+}
@@ -0,0 +1,241 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.BatchScoringProgress;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.logging.CorrelationIdFilter;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Пакетный скоринг всех заявок со статусом NEW
+ * Заявки читаются порциями по ID, скорятся параллельно на ограниченном пуле потоков,
+ * а статусы, скор и дата решения записываются пакетными JDBC-обновлениями (одна транзакция на порцию)
+ */
+@Service
+public class BatchScoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchScoringService.class);
+
+    private static final String CLAIM_SQL =
+            "UPDATE credit_applications SET status = 'SCORING', version = version + 1 WHERE id = ? AND status = 'NEW'";
+    private static final String RESULT_SQL =
+            "UPDATE credit_applications SET status = ?, score = ?, decision_date = ?, version = version + 1 " +
+            "WHERE id = ? AND status = 'SCORING'";
+    private static final String RELEASE_SQL =
+            "UPDATE credit_applications SET status = 'NEW', version = version + 1 WHERE id = ? AND status = 'SCORING'";
+
+    @Autowired
+    private CreditApplicationRepository creditApplicationRepository;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private ScoringMetrics scoringMetrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Размер порции заявок, читаемой и записываемой за один раз
+    @Value("${scoring.batch.chunk-size:500}")
+    private int chunkSize;
+
+    // Количество рабочих потоков для расчета скоринга
+    @Value("${scoring.batch.workers:4}")
+    private int workers;
+
+    // Прогресс текущего (или последнего) задания
+    private final AtomicReference<BatchScoringProgress> currentJob = new AtomicReference<>();
+
+    private final AtomicInteger jobCounter = new AtomicInteger();
+
+    // Запуск пакетного скоринга в фоновом потоке
+    public BatchScoringProgress startBatchScoring() {
+        BatchScoringProgress progress = registerJob();
+        Thread coordinator = new Thread(CorrelationIdFilter.withMdc(() -> execute(progress)), "batch-scoring-" + jobCounter.incrementAndGet());
+        coordinator.start();
+        return progress;
+    }
+
+    // Синхронный пакетный скоринг (возвращает управление после обработки всех заявок)
+    public BatchScoringProgress runBatchScoring() {
+        BatchScoringProgress progress = registerJob();
+        execute(progress);
+        return progress;
+    }
+
+    // Прогресс текущего или последнего завершенного задания
+    public Optional<BatchScoringProgress> getProgress() {
+        return Optional.ofNullable(currentJob.get());
+    }
+
+    private BatchScoringProgress registerJob() {
+        BatchScoringProgress running = currentJob.get();
+        if (running != null && running.isRunning()) {
+            throw new RuntimeException("❌ Пакетный скоринг уже выполняется: " + running);
+        }
+        BatchScoringProgress progress = new BatchScoringProgress(creditApplicationRepository.countByStatus(ApplicationStatus.NEW));
+        if (!currentJob.compareAndSet(running, progress)) {
+            throw new RuntimeException("❌ Пакетный скоринг уже запущен");
+        }
+        log.atInfo().addKeyValue("applications", progress.getTotal()).addKeyValue("chunkSize", chunkSize).addKeyValue("workers", workers)
+                .log("Запуск пакетного скоринга");
+        return progress;
+    }
+
+    private void execute(BatchScoringProgress progress) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, workers));
+        try {
+            long lastId = 0L;
+            while (true) {
+                List<CreditApplication> chunk = creditApplicationRepository.findChunkByStatus(
+                        ApplicationStatus.NEW, lastId, PageRequest.ofSize(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                lastId = chunk.get(chunk.size() - 1).getId();
+                processChunk(chunk, pool, progress);
+                log.debug("Пакетный скоринг: {}", progress);
+            }
+            progress.complete();
+            log.info("Пакетный скоринг завершен: {}", progress);
+        } catch (Exception e) {
+            progress.fail(e.getMessage());
+            log.error("Пакетный скоринг прерван", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void processChunk(List<CreditApplication> chunk, ExecutorService pool, BatchScoringProgress progress)
+            throws InterruptedException {
+        // 1. Переводим порцию в SCORING; заявки, которые уже забрал кто-то другой, пропускаем
+        List<CreditApplication> claimed = claim(chunk);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        // Любой сбой после захвата (история, запись результатов, прерывание) возвращает порцию в NEW,
+        // иначе она осталась бы в SCORING и ни одно задание ее больше не забрало бы
+        try {
+            scoreClaimed(claimed, pool, progress);
+        } catch (Exception e) {
+            try {
+                releaseAll(claimed);
+            } catch (Exception releaseFailure) {
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+    }
+
+    private void scoreClaimed(List<CreditApplication> claimed, ExecutorService pool, BatchScoringProgress progress)
+            throws InterruptedException {
+        // 2. История клиентов для всей порции одним запросом
+        // Набор правил фиксируется на порцию: по нему же решается, нужна ли история
+        ScoringProgram program = scoringService.getProgram();
+        Map<Long, Long> previousCounts = new HashMap<>();
+        if (program.requiresHistory()) {
+            List<Long> ids = claimed.stream().map(CreditApplication::getId).toList();
+            for (Object[] row : creditApplicationRepository.countPreviousApplicationsByIds(ids)) {
+                previousCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : creditApplicationRepository.countArchivedApplicationsByIds(ids)) {
+                previousCounts.merge(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+
+        // 3. Параллельный расчет скоринга
+        List<Future<Integer>> futures = new ArrayList<>(claimed.size());
+        for (CreditApplication application : claimed) {
+            long previous = previousCounts.getOrDefault(application.getId(), 0L);
+            futures.add(pool.submit(() -> scoringService.calculateScore(program, application, previous)));
+        }
+
+        LocalDateTime decisionDate = LocalDateTime.now();
+        List<Object[]> results = new ArrayList<>(claimed.size());
+        List<Object[]> released = new ArrayList<>();
+        long approved = 0;
+        long rejected = 0;
+        for (int i = 0; i < claimed.size(); i++) {
+            CreditApplication application = claimed.get(i);
+            try {
+                int score = futures.get(i).get();
+                ApplicationStatus status = scoringService.decide(score);
+                scoringMetrics.recordDecision(status, application.getAmount());
+                if (status == ApplicationStatus.APPROVED) {
+                    approved++;
+                } else {
+                    rejected++;
+                }
+                results.add(new Object[]{status.name(), score, Timestamp.valueOf(decisionDate), application.getId()});
+            } catch (ExecutionException e) {
+                log.atError().addKeyValue("applicationId", application.getId()).setCause(e.getCause()).log("Ошибка скоринга заявки");
+                released.add(new Object[]{application.getId()});
+            }
+        }
+
+        // 4. Записываем результаты порции пакетными обновлениями в одной транзакции
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(RESULT_SQL, results);
+            if (!released.isEmpty()) {
+                jdbcTemplate.batchUpdate(RELEASE_SQL, released);
+            }
+        });
+
+        progress.recordChunk(approved, rejected, released.size());
+    }
+
+    // Возврат захваченных заявок в NEW (решенные заявки не затрагиваются: RELEASE_SQL проверяет статус SCORING)
+    private void releaseAll(List<CreditApplication> claimed) {
+        List<Object[]> args = new ArrayList<>(claimed.size());
+        for (CreditApplication application : claimed) {
+            args.add(new Object[]{application.getId()});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(RELEASE_SQL, args));
+        log.atWarn().addKeyValue("applications", claimed.size()).log("Порция пакетного скоринга возвращена в статус NEW");
+    }
+
+    // Захват порции: NEW -> SCORING, возвращает заявки, которые удалось перевести
+    private List<CreditApplication> claim(List<CreditApplication> chunk) {
+        List<Object[]> args = new ArrayList<>(chunk.size());
+        for (CreditApplication application : chunk) {
+            args.add(new Object[]{application.getId()});
+        }
+        int[] updated = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(CLAIM_SQL, args));
+
+        List<CreditApplication> claimed = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            if (updated == null || updated[i] > 0 || updated[i] == Statement.SUCCESS_NO_INFO) {
+                claimed.add(chunk.get(i));
+            }
+        }
+        return claimed;
+    }
+}
@@ -0,0 +1,227 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.BulkSubmissionResult;
+import com.creditapp.creditsystem.dto.CreditApplicationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Массовая подача кредитных заявок (файлы брокеров)
+ * Паспорта всех заявок порции сопоставляются с клиентами одним запросом IN, заявки вставляются
+ * пакетным JDBC INSERT с получением сгенерированных ID; при необходимости созданные заявки
+ * сразу ставятся в очередь асинхронного скоринга
+ */
+@Service
+public class BulkApplicationService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkApplicationService.class);
+
+    private static final String CLIENT_IDS_SQL =
+            "SELECT id, passport_data FROM clients WHERE passport_data IN (:passports)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO credit_applications (client_id, amount, status, creation_date) VALUES (?, ?, 'NEW', ?)";
+
+    // Максимальная сумма, помещающаяся в DECIMAL(15,2)
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999999.99");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AsyncScoringService asyncScoringService;
+
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    // Количество заявок в одной порции (один запрос паспортов и одна транзакция)
+    @Value("${applications.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    // Максимальное количество заявок в одном запросе
+    @Value("${applications.bulk.max-items:10000}")
+    private int maxItems;
+
+    // Подача списка заявок; queueScoring - сразу поставить созданные заявки в очередь скоринга
+    public BulkSubmissionResult submit(List<CreditApplicationRequest> requests, boolean queueScoring) {
+        if (requests.size() > maxItems) {
+            throw new RuntimeException("❌ В запросе " + requests.size() + " заявок, допустимо не более " + maxItems);
+        }
+        log.atInfo().addKeyValue("requests", requests.size()).addKeyValue("scoring", queueScoring).log("Массовая подача заявок");
+        long started = System.nanoTime();
+        BulkSubmissionResult result = new BulkSubmissionResult(requests.size());
+        List<BulkSubmissionResult.ItemResult> items = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreditApplicationRequest request = requests.get(i);
+            items.add(result.add(i, request != null ? request.getPassportData() : null));
+        }
+
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, requests.size());
+            insertChunk(requests.subList(from, to), items.subList(from, to));
+        }
+
+        // Скоринг ставится в очередь после фиксации вставки, чтобы рабочие потоки видели заявки
+        // Все созданные заявки переводятся в SCORING одним пакетным UPDATE, а не транзакцией на каждую
+        if (queueScoring) {
+            List<Long> created = new ArrayList<>(items.size());
+            for (BulkSubmissionResult.ItemResult item : items) {
+                if (item.getApplicationId() != null) {
+                    created.add(item.getApplicationId());
+                }
+            }
+            Set<Long> queued = Set.of();
+            String error = "очередь скоринга переполнена или заявка уже не в статусе NEW";
+            if (!created.isEmpty()) {
+                try {
+                    queued = asyncScoringService.submitAll(created);
+                } catch (Exception e) {
+                    log.error("Ошибка постановки заявок массовой подачи в очередь скоринга", e);
+                    error = e.getMessage();
+                }
+            }
+            for (BulkSubmissionResult.ItemResult item : items) {
+                if (item.getApplicationId() == null) {
+                    continue;
+                }
+                if (queued.contains(item.getApplicationId())) {
+                    item.queued();
+                } else {
+                    // Заявка остается в статусе NEW и будет обработана пакетным скорингом
+                    item.fail("Заявка создана, но не поставлена в очередь скоринга: " + error);
+                }
+            }
+        }
+
+        result.summarize((System.nanoTime() - started) / 1_000_000);
+        dashboardStatisticsService.invalidate();
+        log.info("Массовая подача завершена: {}", result);
+        return result;
+    }
+
+    // Вставка одной порции заявок в отдельной транзакции
+    private void insertChunk(List<CreditApplicationRequest> requests, List<BulkSubmissionResult.ItemResult> items) {
+        Set<String> passports = new LinkedHashSet<>();
+        for (CreditApplicationRequest request : requests) {
+            if (request != null && request.getPassportData() != null) {
+                passports.add(request.getPassportData());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, Long> clientIds = resolveClientIds(passports);
+
+                List<Integer> accepted = new ArrayList<>(requests.size());
+                for (int i = 0; i < requests.size(); i++) {
+                    String error = validate(requests.get(i), clientIds);
+                    if (error != null) {
+                        items.get(i).fail(error);
+                    } else {
+                        accepted.add(i);
+                    }
+                }
+                if (accepted.isEmpty()) {
+                    return;
+                }
+
+                List<Long> ids = insertApplications(requests, accepted, clientIds);
+                for (int i = 0; i < accepted.size(); i++) {
+                    items.get(accepted.get(i)).created(ids.get(i));
+                }
+            });
+        } catch (Exception e) {
+            // Порция откатывается целиком: ни одна заявка порции не создана
+            log.error("Ошибка записи порции заявок", e);
+            for (BulkSubmissionResult.ItemResult item : items) {
+                item.created(null);
+                if (item.getMessage() == null) {
+                    item.fail("Ошибка записи порции: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Паспорт -> ID клиента одним запросом на порцию
+    private Map<String, Long> resolveClientIds(Set<String> passports) {
+        Map<String, Long> clientIds = new HashMap<>();
+        if (passports.isEmpty()) {
+            return clientIds;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(CLIENT_IDS_SQL, Map.of("passports", passports),
+                rs -> {
+                    clientIds.put(rs.getString("passport_data"), rs.getLong("id"));
+                });
+        return clientIds;
+    }
+
+    // Пакетная вставка заявок с получением сгенерированных ID в порядке вставки
+    private List<Long> insertApplications(List<CreditApplicationRequest> requests, List<Integer> accepted,
+                                          Map<String, Long> clientIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[]{"id"})) {
+                for (int index : accepted) {
+                    CreditApplicationRequest request = requests.get(index);
+                    statement.setLong(1, clientIds.get(request.getPassportData()));
+                    statement.setBigDecimal(2, request.getAmount());
+                    statement.setTimestamp(3, now);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(accepted.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != accepted.size()) {
+                    throw new IllegalStateException("получено " + ids.size() + " ID вместо " + accepted.size());
+                }
+                return ids;
+            }
+        });
+    }
+
+    private static String validate(CreditApplicationRequest request, Map<String, Long> clientIds) {
+        if (request == null) {
+            return "Пустой элемент вместо заявки";
+        }
+        if (request.getPassportData() == null || request.getPassportData().isBlank()) {
+            return "Не указаны паспортные данные";
+        }
+        if (request.getAmount() == null || request.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Сумма заявки должна быть больше нуля";
+        }
+        if (request.getAmount().compareTo(MAX_AMOUNT) > 0 || request.getAmount().scale() > 2) {
+            return "Сумма заявки превышает допустимую или содержит больше двух знаков после запятой";
+        }
+        if (!clientIds.containsKey(request.getPassportData())) {
+            return "Клиент с паспортом " + request.getPassportData() + " не найден";
+        }
+        return null;
+    }
+}
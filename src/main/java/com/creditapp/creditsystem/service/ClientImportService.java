@@ -0,0 +1,359 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ClientImportReport;
+import com.creditapp.creditsystem.entity.Client;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Массовый импорт клиентов из CSV или NDJSON
+ * Файл читается построчно и обрабатывается порциями: уникальность паспортов проверяется одним запросом
+ * на порцию, вставка выполняется пакетным JDBC INSERT в отдельной транзакции на порцию.
+ * Ошибки не прерывают импорт, а попадают в отчет с номером строки
+ */
+@Service
+public class ClientImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientImportService.class);
+
+    /**
+     * Формат файла импорта
+     */
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    // ON CONFLICT защищает от клиентов, созданных параллельно между проверкой и вставкой
+    private static final String INSERT_SQL =
+            "INSERT INTO clients (first_name, last_name, passport_data, phone_number, email, created_date) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (passport_data) DO NOTHING";
+
+    private static final String EXISTING_PASSPORTS_SQL =
+            "SELECT passport_data FROM clients WHERE passport_data IN (:passports)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @Autowired
+    private PassportIndex passportIndex;
+
+    // Количество строк файла в одной порции (одна проверка паспортов и одна транзакция)
+    @Value("${clients.import.chunk-size:1000}")
+    private int chunkSize;
+
+    // Максимальное количество ошибок в отчете
+    @Value("${clients.import.error-limit:1000}")
+    private int errorLimit;
+
+    // Импорт клиентов из потока; возвращает отчет после обработки всего файла
+    public ClientImportReport importClients(InputStream input, ImportFormat format) {
+        log.info("Импорт клиентов из {}", format);
+        long started = System.nanoTime();
+        ClientImportReport report = new ClientImportReport(errorLimit);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                // Первая строка CSV - заголовок с названиями колонок
+                if (format == ImportFormat.CSV && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+                report.recordRow();
+                try {
+                    Client client = format == ImportFormat.CSV ? parseCsvRow(line, header) : parseJsonRow(line);
+                    chunk.add(new ImportRow(lineNumber, client));
+                } catch (Exception e) {
+                    report.addError(lineNumber, null, "Ошибка разбора строки: " + e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, report);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Ошибка чтения файла импорта: " + e.getMessage(), e);
+        }
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        dashboardStatisticsService.invalidate();
+        log.info("Импорт клиентов завершен: {}", report);
+        return report;
+    }
+
+    // Проверка и запись одной порции строк
+    private void processChunk(List<ImportRow> chunk, ClientImportReport report) {
+        // Проверка полей и дубликатов паспортов внутри порции
+        Map<String, ImportRow> valid = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            String error = validate(row.client);
+            if (error != null) {
+                report.addError(row.line, row.client.getPassportData(), error);
+                continue;
+            }
+            ImportRow previous = valid.putIfAbsent(row.client.getPassportData(), row);
+            if (previous != null) {
+                report.addError(row.line, row.client.getPassportData(),
+                        "Паспорт повторяется в файле (строка " + previous.line + ")");
+            }
+        }
+        if (valid.isEmpty()) {
+            report.recordChunk(0);
+            return;
+        }
+
+        // Строки с уже существующими паспортами попадают в отчет только после успешной записи порции
+        List<ImportRow> duplicates = new ArrayList<>();
+        List<String> imported = new ArrayList<>();
+        try {
+            int inserted = transactionTemplate.execute(status -> {
+                // Один запрос на порцию вместо existsByPassportData для каждой строки
+                Set<String> existing = new HashSet<>(new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                        EXISTING_PASSPORTS_SQL, Map.of("passports", valid.keySet()), String.class));
+                List<ImportRow> toInsert = new ArrayList<>(valid.size());
+                for (ImportRow row : valid.values()) {
+                    if (existing.contains(row.client.getPassportData())) {
+                        duplicates.add(row);
+                    } else {
+                        toInsert.add(row);
+                    }
+                }
+
+                if (toInsert.isEmpty()) {
+                    return 0;
+                }
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(), (ps, row) -> {
+                    ps.setString(1, row.client.getFirstName());
+                    ps.setString(2, row.client.getLastName());
+                    ps.setString(3, row.client.getPassportData());
+                    ps.setString(4, row.client.getPhoneNumber());
+                    ps.setString(5, row.client.getEmail());
+                    ps.setTimestamp(6, now);
+                });
+
+                int count = 0;
+                int index = 0;
+                for (int[] batch : counts) {
+                    for (int updated : batch) {
+                        ImportRow row = toInsert.get(index++);
+                        if (updated == 0) {
+                            duplicates.add(row);
+                        } else {
+                            imported.add(row.client.getPassportData());
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            });
+            // ID вставленных клиентов не читаются, поэтому паспорта добавляются только в фильтр Блума
+            for (String passportData : imported) {
+                passportIndex.register(passportData, null);
+            }
+            for (ImportRow row : duplicates) {
+                report.addError(row.line, row.client.getPassportData(), "Клиент с таким паспортом уже существует");
+            }
+            report.recordChunk(inserted);
+        } catch (Exception e) {
+            // Порция откатывается целиком, строки порции попадают в отчет.
+            // Сообщение драйвера содержит параметры INSERT (паспорта), поэтому в журнал и отчет оно не попадает
+            long firstLine = valid.values().stream().mapToLong(row -> row.line).min().orElse(0);
+            long lastLine = valid.values().stream().mapToLong(row -> row.line).max().orElse(0);
+            log.atError().addKeyValue("sqlState", sqlState(e)).addKeyValue("error", e.getClass().getSimpleName())
+                    .log("Ошибка записи порции клиентов, строки {}-{}", firstLine, lastLine);
+            for (ImportRow row : valid.values()) {
+                report.addError(row.line, row.client.getPassportData(), "Ошибка записи порции, строки порции не импортированы");
+            }
+            report.recordChunk(0);
+        }
+    }
+
+    // SQLState первой ошибки JDBC в цепочке причин (null - ошибка не от БД)
+    private static String sqlState(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                return sqlException.getSQLState();
+            }
+        }
+        return null;
+    }
+
+    // Проверка обязательных полей и длин колонок таблицы clients
+    private static String validate(Client client) {
+        if (isBlank(client.getFirstName()) || isBlank(client.getLastName())) {
+            return "Не указаны имя или фамилия";
+        }
+        if (isBlank(client.getPassportData())) {
+            return "Не указаны паспортные данные";
+        }
+        if (client.getFirstName().length() > 100 || client.getLastName().length() > 100) {
+            return "Имя или фамилия длиннее 100 символов";
+        }
+        if (client.getPassportData().length() > 20) {
+            return "Паспортные данные длиннее 20 символов";
+        }
+        if (client.getPhoneNumber() != null && client.getPhoneNumber().length() > 15) {
+            return "Телефон длиннее 15 символов";
+        }
+        if (client.getEmail() != null && client.getEmail().length() > 100) {
+            return "Email длиннее 100 символов";
+        }
+        return null;
+    }
+
+    // Заголовок CSV: имя колонки -> индекс; допускаются first_name и firstName
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> columns = parseCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(normalizeColumn(columns.get(i)), i);
+        }
+        for (String required : List.of("firstname", "lastname", "passportdata")) {
+            if (!header.containsKey(required)) {
+                throw new RuntimeException("❌ В заголовке CSV нет колонки " + required);
+            }
+        }
+        return header;
+    }
+
+    private static Client parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = parseCsvLine(line);
+        Client client = new Client();
+        client.setFirstName(column(values, header, "firstname"));
+        client.setLastName(column(values, header, "lastname"));
+        client.setPassportData(column(values, header, "passportdata"));
+        client.setPhoneNumber(column(values, header, "phonenumber"));
+        client.setEmail(column(values, header, "email"));
+        return client;
+    }
+
+    private Client parseJsonRow(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        Client client = new Client();
+        client.setFirstName(text(node, "firstName"));
+        client.setLastName(text(node, "lastName"));
+        client.setPassportData(text(node, "passportData"));
+        client.setPhoneNumber(text(node, "phoneNumber"));
+        client.setEmail(text(node, "email"));
+        return client;
+    }
+
+    // Разбор строки CSV с поддержкой значений в двойных кавычках
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("незакрытая кавычка");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String column(List<String> values, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        return emptyToNull(values.get(index));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : emptyToNull(value.asText());
+    }
+
+    private static String normalizeColumn(String column) {
+        return column.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String emptyToNull(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Строка файла импорта с номером для отчета об ошибках
+     */
+    private static class ImportRow {
+        private final long line;
+        private final Client client;
+
+        ImportRow(long line, Client client) {
+            this.line = line;
+            this.client = client;
+        }
+    }
+}
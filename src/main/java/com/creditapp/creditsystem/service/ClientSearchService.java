@@ -0,0 +1,125 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ClientListItem;
+import com.creditapp.creditsystem.dto.NumberedPage;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.logging.LogMasking;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Поиск клиентов по имени, фамилии, паспорту и телефону
+ * Поиск выполняется по GIN-индексу pg_trgm (idx_clients_search_trgm, миграция V3):
+ * подстрока (LIKE '%x%') и нечеткое совпадение с опечатками (оператор word_similarity &lt;%)
+ * используют один и тот же индекс. Индекс обновляется самой БД при создании, изменении и удалении клиентов.
+ * Для запросов короче трех символов триграмм нет, поэтому используется префиксный поиск по фамилии
+ */
+@Service
+public class ClientSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientSearchService.class);
+
+    // Выражение, по которому построен триграммный индекс; в запросах должно совпадать с индексом дословно
+    private static final String SEARCH_TEXT =
+            "lower(first_name || ' ' || last_name || ' ' || passport_data || ' ' || coalesce(phone_number, ''))";
+
+    private static final String COLUMNS = "id, first_name, last_name, email, phone_number, passport_data";
+
+    // Ранжирование: совпадение начала фамилии, затем точная подстрока, затем нечеткие совпадения по убыванию сходства
+    private static final String FUZZY_SQL =
+            "SELECT " + COLUMNS + " FROM clients " +
+            "WHERE " + SEARCH_TEXT + " LIKE ? OR ? <% " + SEARCH_TEXT + " " +
+            "ORDER BY CASE WHEN lower(last_name) LIKE ? THEN 0 WHEN " + SEARCH_TEXT + " LIKE ? THEN 1 ELSE 2 END, " +
+            "word_similarity(?, " + SEARCH_TEXT + ") DESC, id " +
+            "LIMIT ? OFFSET ?";
+
+    // Короткий запрос: префикс фамилии по индексу idx_clients_last_name_prefix
+    private static final String PREFIX_SQL =
+            "SELECT " + COLUMNS + " FROM clients " +
+            "WHERE lower(last_name) LIKE ? " +
+            "ORDER BY lower(last_name), id " +
+            "LIMIT ? OFFSET ?";
+
+    private static final RowMapper<ClientListItem> ROW_MAPPER = (rs, rowNum) -> new ClientListItem(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("email"),
+            rs.getString("phone_number"),
+            rs.getString("passport_data"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    // Минимальное сходство слова для нечеткого совпадения (0..1); меньше - больше опечаток допускается
+    @Value("${clients.search.similarity-threshold:0.4}")
+    private double similarityThreshold;
+
+    // Максимальное количество результатов, которое можно пролистать
+    @Value("${clients.search.max-results:1000}")
+    private int maxResults;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // Страница ранжированных результатов поиска; page - номер страницы с нуля
+    public NumberedPage<ClientListItem> search(String query, int page, int size) {
+        String normalized = normalize(query);
+        log.debug(LogMarkers.SAMPLED, "Поиск клиентов: '{}', страница {}", LogMasking.digits(normalized), page);
+        if (normalized.isEmpty()) {
+            return NumberedPage.of(List.of(), 0, size);
+        }
+
+        // Смещение в long: для большого page произведение в int переполняется и становится отрицательным
+        if (page < 0 || size <= 0 || (long) page * size >= maxResults) {
+            return NumberedPage.of(List.of(), Math.max(page, 0), size);
+        }
+        int offset = page * size;
+        int limit = Math.min(size + 1, maxResults - offset + 1);
+
+        String escaped = escapeLike(normalized);
+        List<ClientListItem> rows = readOnlyTransactionTemplate.execute(status -> {
+            if (normalized.length() < 3) {
+                return jdbcTemplate.query(PREFIX_SQL, ROW_MAPPER, escaped + "%", limit, offset);
+            }
+            // Порог действует только до конца текущей транзакции
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)",
+                    String.class, String.valueOf(similarityThreshold));
+            return jdbcTemplate.query(FUZZY_SQL, ROW_MAPPER,
+                    "%" + escaped + "%", normalized, escaped + "%", "%" + escaped + "%", normalized, limit, offset);
+        });
+        return NumberedPage.of(rows, page, size);
+    }
+
+    // Приведение запроса к виду индексированного выражения: нижний регистр, одиночные пробелы
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Экранирование спецсимволов LIKE, чтобы они искались как обычные символы
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,9 +1,18 @@
 package com.creditapp.creditsystem.service;
 
+import com.creditapp.creditsystem.dto.ClientListItem;
+import com.creditapp.creditsystem.dto.KeysetPage;
 import com.creditapp.creditsystem.entity.Client;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.logging.LogMasking;
 import com.creditapp.creditsystem.repository.ClientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,50 +20,78 @@ import java.util.Optional;
 @Service
 public class ClientService {
 
+    private static final Logger log = LoggerFactory.getLogger(ClientService.class);
+
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PassportIndex passportIndex;
+
     // Создание нового клиента
+    @Transactional
     public Client createClient(Client client) {
-        System.out.println("🆕 Создание клиента: " + client.getFirstName() + " " + client.getLastName());
+        log.debug("Создание клиента с паспортом {}", LogMasking.passport(client.getPassportData()));
 
         // Проверяем, нет ли уже клиента с таким паспортом
-        if (clientRepository.existsByPassportData(client.getPassportData())) {
+        // Незнакомый паспорт отсекается фильтром Блума без запроса к БД
+        if (passportIndex.isRegistered(client.getPassportData())) {
             throw new RuntimeException("❌ Клиент с паспортом " + client.getPassportData() + " уже существует");
         }
 
         Client savedClient = clientRepository.save(client);
-        System.out.println("✅ Клиент создан с ID: " + savedClient.getId());
+        passportIndex.register(savedClient.getPassportData(), savedClient.getId());
+        log.atInfo().addKeyValue("clientId", savedClient.getId()).log("Клиент создан");
         return savedClient;
     }
 
     // Получение клиента по ID
+    @Transactional(readOnly = true)
     public Optional<Client> getClientById(Long id) {
-        System.out.println("🔍 Поиск клиента по ID: " + id);
+        log.debug(LogMarkers.SAMPLED, "Поиск клиента по ID: {}", id);
         return clientRepository.findById(id);
     }
 
     // Получение клиента по паспортным данным
+    @Transactional(readOnly = true)
     public Optional<Client> getClientByPassport(String passportData) {
-        System.out.println("🔍 Поиск клиента по паспорту: " + passportData);
+        log.debug(LogMarkers.SAMPLED, "Поиск клиента по паспорту: {}", LogMasking.passport(passportData));
         return clientRepository.findByPassportData(passportData);
     }
 
     // Получение всех клиентов
+    @Transactional(readOnly = true)
     public List<Client> getAllClients() {
-        System.out.println("📋 Получение всех клиентов");
+        log.debug(LogMarkers.SAMPLED, "Получение всех клиентов");
         return clientRepository.findAll();
     }
 
+    // Страница клиентов по возрастанию ID
+    // cursor - ID крайнего клиента текущей страницы, backward - переход на предыдущую страницу
+    @Transactional(readOnly = true)
+    public KeysetPage<ClientListItem> getClientsPage(Long cursor, boolean backward, int size) {
+        log.debug(LogMarkers.SAMPLED, "Получение страницы клиентов: курсор {} {}", cursor, backward ? "назад" : "вперед");
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<ClientListItem> rows = backward && cursor != null
+                ? clientRepository.findPageBefore(cursor, limit)
+                : clientRepository.findPageAfter(cursor != null ? cursor : 0L, limit);
+        return KeysetPage.of(rows, size, backward && cursor != null, cursor != null, ClientListItem::getId);
+    }
+
     // Поиск клиентов по фамилии
+    @Transactional(readOnly = true)
     public List<Client> searchClientsByLastName(String lastName) {
-        System.out.println("🔍 Поиск клиентов по фамилии: " + lastName);
+        log.debug(LogMarkers.SAMPLED, "Поиск клиентов по фамилии: {}", lastName);
         return clientRepository.findByLastNameContainingIgnoreCase(lastName);
     }
 
     // Обновление клиента
+    @Transactional
     public Client updateClient(Long id, Client clientDetails) {
-        System.out.println("✏️ Обновление клиента с ID: " + id);
+        log.debug("Обновление клиента с ID: {}", id);
 
         Client existingClient = clientRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("❌ Клиент с ID " + id + " не найден"));
@@ -66,25 +103,29 @@ public class ClientService {
         existingClient.setEmail(clientDetails.getEmail());
 
         Client updatedClient = clientRepository.save(existingClient);
-        System.out.println("✅ Клиент обновлен: " + updatedClient.getFirstName() + " " + updatedClient.getLastName());
+        log.atInfo().addKeyValue("clientId", id).log("Клиент обновлен");
         return updatedClient;
     }
 
     // Удаление клиента
+    @Transactional
     public void deleteClient(Long id) {
-        System.out.println("🗑 Удаление клиента с ID: " + id);
+        log.debug("Удаление клиента с ID: {}", id);
 
-        if (!clientRepository.existsById(id)) {
-            throw new RuntimeException("❌ Клиент с ID " + id + " не найден");
-        }
+        Client client = clientRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("❌ Клиент с ID " + id + " не найден"));
 
-        clientRepository.deleteById(id);
-        System.out.println("✅ Клиент удален");
+        // Заявки удаляются каскадно вместе с клиентом, их ключи идемпотентности освобождаются явно
+        idempotencyService.releaseClientKeys(id);
+        clientRepository.delete(client);
+        passportIndex.unregister(client.getPassportData());
+        log.atInfo().addKeyValue("clientId", id).log("Клиент удален");
     }
 
     // Получение клиента с его заявками
+    @Transactional(readOnly = true)
     public Optional<Client> getClientWithApplications(Long id) {
-        System.out.println("📄 Получение клиента с заявками по ID: " + id);
+        log.debug(LogMarkers.SAMPLED, "Получение клиента с заявками по ID: {}", id);
         return clientRepository.findByIdWithApplications(id);
     }
 }
@@ -0,0 +1,115 @@
+package com.creditapp.creditsystem.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Скомпилированное правило скоринга
+ * Условие из ScoringRule.conditionDescription разбирается один раз при загрузке набора правил
+ * и хранится в типизированном виде: при расчете скоринга нет ни работы со строками,
+ * ни создания констант BigDecimal
+ */
+public final class CompiledScoringRule {
+
+    /**
+     * Тип условия правила
+     */
+    public enum ConditionType {
+        AMOUNT_GREATER_THAN,   // Сумма заявки больше порога
+        AMOUNT_BETWEEN,        // Сумма заявки в интервале (нижняя граница; верхняя граница]
+        AMOUNT_AT_MOST,        // Сумма заявки не больше порога
+        FIRST_CREDIT,          // У клиента нет более ранних заявок
+        REPEAT_CREDIT,         // У клиента есть более ранние заявки
+        UNKNOWN                // Условие не распознано - правило не начисляет баллы
+    }
+
+    private final Long ruleId;
+    private final String ruleName;
+    private final int points;
+    private final ConditionType type;
+    private final BigDecimal lowerBound;
+    private final BigDecimal upperBound;
+
+    public CompiledScoringRule(Long ruleId, String ruleName, int points,
+                               ConditionType type, BigDecimal lowerBound, BigDecimal upperBound) {
+        this.ruleId = ruleId;
+        this.ruleName = ruleName;
+        this.points = points;
+        this.type = type;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * Проверка условия правила
+     *
+     * @param amount сумма заявки
+     * @param previousApplications количество более ранних заявок клиента (учитывается только для правил по истории)
+     * @return true если условие выполнено
+     */
+    public boolean matches(BigDecimal amount, long previousApplications) {
+        switch (type) {
+            case AMOUNT_GREATER_THAN:
+                return amount.compareTo(lowerBound) > 0;
+            case AMOUNT_BETWEEN:
+                return amount.compareTo(lowerBound) > 0 && amount.compareTo(upperBound) <= 0;
+            case AMOUNT_AT_MOST:
+                return amount.compareTo(upperBound) <= 0;
+            case FIRST_CREDIT:
+                return previousApplications == 0;
+            case REPEAT_CREDIT:
+                return previousApplications > 0;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Количество баллов, начисляемых правилом для заявки
+     */
+    public int apply(BigDecimal amount, long previousApplications) {
+        return matches(amount, previousApplications) ? points : 0;
+    }
+
+    /**
+     * Требует ли правило истории заявок клиента
+     */
+    public boolean requiresHistory() {
+        return type == ConditionType.FIRST_CREDIT || type == ConditionType.REPEAT_CREDIT;
+    }
+
+    public Long getRuleId() {
+        return ruleId;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public ConditionType getType() {
+        return type;
+    }
+
+    public BigDecimal getLowerBound() {
+        return lowerBound;
+    }
+
+    public BigDecimal getUpperBound() {
+        return upperBound;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledScoringRule{" +
+                "ruleId=" + ruleId +
+                ", ruleName='" + ruleName + '\'' +
+                ", points=" + points +
+                ", type=" + type +
+                ", lowerBound=" + lowerBound +
+                ", upperBound=" + upperBound +
+                '}';
+    }
+}
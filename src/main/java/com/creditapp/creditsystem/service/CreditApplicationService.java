@@ -1,22 +1,45 @@
 package com.creditapp.creditsystem.service;
 
+import com.creditapp.creditsystem.dto.ApplicationFilter;
+import com.creditapp.creditsystem.dto.ApplicationListItem;
 import com.creditapp.creditsystem.dto.CreditApplicationRequest;
+import com.creditapp.creditsystem.dto.DashboardStatistics;
+import com.creditapp.creditsystem.dto.KeysetPage;
+import com.creditapp.creditsystem.dto.NumberedPage;
 import com.creditapp.creditsystem.entity.ApplicationStatus;
 import com.creditapp.creditsystem.entity.Client;
 import com.creditapp.creditsystem.entity.CreditApplication;
+import com.creditapp.creditsystem.logging.LogMarkers;
 import com.creditapp.creditsystem.repository.ClientRepository;
 import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import com.creditapp.creditsystem.repository.CreditApplicationSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class CreditApplicationService {
 
+    private static final Logger log = LoggerFactory.getLogger(CreditApplicationService.class);
+
+    // Поля, по которым разрешена сортировка в фильтре заявок (для каждого есть индекс)
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "amount", "creationDate", "score", "status");
+
     @Autowired
     private CreditApplicationRepository creditApplicationRepository;
 
@@ -26,13 +49,67 @@ public class CreditApplicationService {
     @Autowired
     private ScoringService scoringService;
 
+    @Autowired
+    private ScoringMetrics scoringMetrics;
+
+    @Autowired
+    private DashboardStatisticsService dashboardStatisticsService;
+
+    @Autowired
+    private PassportIndex passportIndex;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Количество попыток изменения заявки при конфликте версий (оптимистичная блокировка)
+    @Value("${applications.optimistic-lock.max-attempts:3}")
+    private int maxConflictAttempts;
+
+    // Максимальное количество строк, которое можно пропустить при листании фильтра
+    @Value("${applications.filter.max-offset:10000}")
+    private int filterMaxOffset;
+
     // Создание новой кредитной заявки
+    // С ключом идемпотентности повторный запрос возвращает заявку, созданную первым запросом
     public CreditApplication createApplication(CreditApplicationRequest request) {
-        System.out.println("🆕 Создание кредитной заявки: " + request);
+        log.debug("Создание кредитной заявки: {}", request);
+
+        String key = request.getIdempotencyKey();
+        if (key == null || key.isBlank()) {
+            return insertApplication(request);
+        }
+        idempotencyService.validateKey(key);
+
+        Optional<Long> existingId = idempotencyService.findApplicationId(key);
+        if (existingId.isPresent()) {
+            log.atInfo().addKeyValue("idempotencyKey", key).addKeyValue("applicationId", existingId.get())
+                    .log("Повторный запрос с ключом идемпотентности, возвращаем созданную заявку");
+            return loadApplication(existingId.get());
+        }
+
+        // Заявка и ключ сохраняются в одной транзакции; проигравший параллельный запрос откатывает свою заявку
+        return transactionTemplate.execute(status -> {
+            CreditApplication savedApplication = insertApplication(request);
+            if (idempotencyService.claim(key, savedApplication.getId())) {
+                return savedApplication;
+            }
+            status.setRollbackOnly();
+            Long winnerId = idempotencyService.findApplicationId(key)
+                    .orElseThrow(() -> new RuntimeException("❌ Ключ идемпотентности " + key + " занят, повторите запрос"));
+            log.atInfo().addKeyValue("idempotencyKey", key).addKeyValue("applicationId", winnerId)
+                    .log("Параллельный запрос с тем же ключом уже создал заявку");
+            return loadApplication(winnerId);
+        });
+    }
 
-        // Находим клиента по паспорту
-        Client client = clientRepository.findByPassportData(request.getPassportData())
+    private CreditApplication insertApplication(CreditApplicationRequest request) {
+        // Находим ID клиента по паспорту (кеш, затем БД), сам клиент не загружается
+        Long clientId = passportIndex.findClientId(request.getPassportData())
                 .orElseThrow(() -> new RuntimeException("❌ Клиент с паспортом " + request.getPassportData() + " не найден"));
+        Client client = clientRepository.getReferenceById(clientId);
 
         // Создаем заявку
         CreditApplication application = new CreditApplication();
@@ -42,84 +119,188 @@ public class CreditApplicationService {
         application.setCreationDate(LocalDateTime.now());
 
         CreditApplication savedApplication = creditApplicationRepository.save(application);
-        System.out.println("✅ Заявка создана с ID: " + savedApplication.getId());
+        log.atInfo().addKeyValue("applicationId", savedApplication.getId()).addKeyValue("clientId", clientId).log("Заявка создана");
 
         return savedApplication;
     }
 
+    private CreditApplication loadApplication(Long id) {
+        return creditApplicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("❌ Заявка с ID " + id + " не найдена"));
+    }
+
     // Получение заявки по ID
+    @Transactional(readOnly = true)
     public Optional<CreditApplication> getApplicationById(Long id) {
-        System.out.println("🔍 Поиск заявки по ID: " + id);
+        log.debug(LogMarkers.SAMPLED, "Поиск заявки по ID: {}", id);
+        return creditApplicationRepository.findById(id);
+    }
+
+    // Получение заявки с основной БД (не readOnly): состояние сразу после записи другим потоком,
+    // которое реплика может еще не получить
+    @Transactional
+    public Optional<CreditApplication> getCurrentApplicationById(Long id) {
         return creditApplicationRepository.findById(id);
     }
 
     // Получение всех заявок
+    @Transactional(readOnly = true)
     public List<CreditApplication> getAllApplications() {
-        System.out.println("📋 Получение всех заявок");
+        log.debug(LogMarkers.SAMPLED, "Получение всех заявок");
         return creditApplicationRepository.findAll();
     }
 
     // Получение заявок по статусу
+    @Transactional(readOnly = true)
     public List<CreditApplication> getApplicationsByStatus(ApplicationStatus status) {
-        System.out.println("🔍 Поиск заявок по статусу: " + status);
+        log.debug(LogMarkers.SAMPLED, "Поиск заявок по статусу: {}", status);
         return creditApplicationRepository.findByStatus(status);
     }
 
+    // Страница заявок (новые сверху), status = null - все заявки
+    // cursor - ID крайней заявки текущей страницы, backward - переход на предыдущую страницу
+    @Transactional(readOnly = true)
+    public KeysetPage<ApplicationListItem> getApplicationsPage(ApplicationStatus status, Long cursor, boolean backward, int size) {
+        log.debug(LogMarkers.SAMPLED, "Получение страницы заявок: статус {}, курсор {} {}", status, cursor, backward ? "назад" : "вперед");
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<ApplicationListItem> rows;
+        if (backward && cursor != null) {
+            rows = status == null
+                    ? creditApplicationRepository.findPageAfter(cursor, limit)
+                    : creditApplicationRepository.findPageByStatusAfter(status, cursor, limit);
+        } else {
+            long from = cursor != null ? cursor : Long.MAX_VALUE;
+            rows = status == null
+                    ? creditApplicationRepository.findPageBefore(from, limit)
+                    : creditApplicationRepository.findPageByStatusBefore(status, from, limit);
+        }
+        return KeysetPage.of(rows, size, backward && cursor != null, cursor != null, ApplicationListItem::getId);
+    }
+
+    // Страница заявок по комбинированному фильтру с сортировкой; page - номер страницы с нуля
+    @Transactional(readOnly = true)
+    public NumberedPage<ApplicationListItem> filterApplications(ApplicationFilter filter, String sortField,
+                                                                Sort.Direction direction, int page, int size) {
+        log.debug(LogMarkers.SAMPLED, "Фильтр заявок: {}, сортировка {} {}, страница {}", filter, sortField, direction, page);
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            throw new RuntimeException("❌ Сортировка по полю " + sortField + " не поддерживается");
+        }
+        if (page < 0 || (long) page * size > filterMaxOffset) {
+            throw new RuntimeException("❌ Номер страницы " + page + " вне допустимого диапазона, уточните фильтр");
+        }
+
+        List<ApplicationListItem> rows = creditApplicationRepository.findListItems(
+                CreditApplicationSpecifications.matching(filter), Sort.by(direction, sortField), page * size, size + 1);
+        return NumberedPage.of(rows, page, size);
+    }
+
     // Получение заявок клиента
+    @Transactional(readOnly = true)
     public List<CreditApplication> getClientApplications(Long clientId) {
-        System.out.println("📄 Получение заявок клиента с ID: " + clientId);
+        log.debug(LogMarkers.SAMPLED, "Получение заявок клиента с ID: {}", clientId);
         return creditApplicationRepository.findByClientId(clientId);
     }
 
-    // Обновление статуса заявки
-    public CreditApplication updateApplicationStatus(Long id, ApplicationStatus newStatus) {
-        System.out.println("✏️ Обновление статуса заявки " + id + " на: " + newStatus);
-
-        CreditApplication application = creditApplicationRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("❌ Заявка с ID " + id + " не найдена"));
-
-        application.setStatus(newStatus);
+    // Обновление статуса заявки оператором
+    // expectedVersion - версия заявки, которую видел оператор (null - не проверять)
+    public CreditApplication updateApplicationStatus(Long id, ApplicationStatus newStatus, Long expectedVersion) {
+        log.debug("Обновление статуса заявки {} на: {}", id, newStatus);
 
-        CreditApplication updatedApplication = creditApplicationRepository.save(application);
-        System.out.println("✅ Статус заявки обновлен");
+        CreditApplication updatedApplication = withConflictRetry(id, () -> {
+            CreditApplication application = loadApplication(id);
+            if (expectedVersion != null && !expectedVersion.equals(application.getVersion())) {
+                throw new RuntimeException("❌ Заявка " + id + " изменилась после открытия страницы, обновите страницу");
+            }
+            application.setStatus(newStatus);
+            return creditApplicationRepository.saveAndFlush(application);
+        });
+        log.atInfo().addKeyValue("applicationId", id).addKeyValue("status", newStatus).log("Статус заявки обновлен");
         return updatedApplication;
     }
 
     // Запуск скоринга для заявки
     public CreditApplication runScoring(Long applicationId) {
-        System.out.println("🎯 Запуск скоринга для заявки: " + applicationId);
+        log.debug("Запуск скоринга для заявки: {}", applicationId);
 
-        CreditApplication application = creditApplicationRepository.findById(applicationId)
-                .orElseThrow(() -> new RuntimeException("❌ Заявка с ID " + applicationId + " не найдена"));
+        markScoring(applicationId);
+        return completeScoring(applicationId);
+    }
 
-        // Меняем статус на SCORING
-        application.setStatus(ApplicationStatus.SCORING);
-        creditApplicationRepository.save(application);
+    // Перевод заявки в статус SCORING (первый шаг скоринга)
+    // Заявка, уже стоящая в SCORING (например, после сбоя), забирается повторно
+    public CreditApplication markScoring(Long applicationId) {
+        return withConflictRetry(applicationId, () -> {
+            CreditApplication application = loadApplication(applicationId);
+            application.setStatus(ApplicationStatus.SCORING);
+            return creditApplicationRepository.saveAndFlush(application);
+        });
+    }
+
+    // Возврат заявки из SCORING в NEW после неудачного скоринга: иначе ее не заберет ни очередь, ни пакетный скоринг
+    public CreditApplication releaseScoring(Long applicationId) {
+        return withConflictRetry(applicationId, () -> {
+            CreditApplication application = loadApplication(applicationId);
+            if (application.getStatus() != ApplicationStatus.SCORING) {
+                return application;
+            }
+            application.setStatus(ApplicationStatus.NEW);
+            return creditApplicationRepository.saveAndFlush(application);
+        });
+    }
+
+    // Расчет скоринга и решение по заявке, уже переведенной в SCORING (второй шаг скоринга)
+    // Загрузка, расчет и сохранение выполняются в одной транзакции
+    public CreditApplication completeScoring(Long applicationId) {
+        return withConflictRetry(applicationId, () -> scoreApplication(loadApplication(applicationId)));
+    }
+
+    private CreditApplication scoreApplication(CreditApplication application) {
+        // Решение по заявке уже принято (например, оператором или параллельным скорингом)
+        if (application.getStatus() != ApplicationStatus.SCORING) {
+            throw new RuntimeException("❌ Заявка " + application.getId() + " не находится на скоринге (статус " + application.getStatus() + ")");
+        }
 
         // Запускаем скоринг
         Integer score = scoringService.calculateScore(application);
         application.setScore(score);
 
         // Определяем результат на основе скоринга
-        if (score >= 60) {
-            application.setStatus(ApplicationStatus.APPROVED);
-            System.out.println("✅ Заявка одобрена! Скор: " + score);
-        } else {
-            application.setStatus(ApplicationStatus.REJECTED);
-            System.out.println("❌ Заявка отклонена! Скор: " + score);
-        }
+        application.setStatus(scoringService.decide(score));
 
-        CreditApplication scoredApplication = creditApplicationRepository.save(application);
+        CreditApplication scoredApplication = creditApplicationRepository.saveAndFlush(application);
+        scoringMetrics.recordDecision(scoredApplication.getStatus(), scoredApplication.getAmount());
+        log.atInfo().addKeyValue("applicationId", scoredApplication.getId()).addKeyValue("status", scoredApplication.getStatus())
+                .addKeyValue("score", score).log("Решение по заявке принято");
         return scoredApplication;
     }
 
+    /**
+     * Изменение заявки в отдельной транзакции с повтором при конфликте версий
+     * Без блокировки строк: если заявку параллельно изменил другой запрос (оператор, другой поток
+     * или узел скоринга), транзакция откатывается и действие повторяется на свежих данных,
+     * включая проверку перехода статуса. После maxConflictAttempts попыток конфликт возвращается вызывающему
+     */
+    private CreditApplication withConflictRetry(Long applicationId, Supplier<CreditApplication> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxConflictAttempts) {
+                    throw new RuntimeException("❌ Заявка " + applicationId + " одновременно изменена другим запросом, повторите действие");
+                }
+                log.atInfo().addKeyValue("applicationId", applicationId).addKeyValue("attempt", attempt).log("Конфликт версий заявки, повтор");
+            }
+        }
+    }
+
     // Получение статистики
     public String getStatistics() {
-        long total = creditApplicationRepository.count();
-        long newCount = creditApplicationRepository.countByStatus(ApplicationStatus.NEW);
-        long approvedCount = creditApplicationRepository.countByStatus(ApplicationStatus.APPROVED);
-        long rejectedCount = creditApplicationRepository.countByStatus(ApplicationStatus.REJECTED);
-        long scoringCount = creditApplicationRepository.countByStatus(ApplicationStatus.SCORING);
+        DashboardStatistics statistics = dashboardStatisticsService.getStatistics();
+        long total = statistics.getTotalApplications();
+        long newCount = statistics.getNewApplications();
+        long approvedCount = statistics.getApprovedApplications();
+        long rejectedCount = statistics.getRejectedApplications();
+        long scoringCount = statistics.getScoringApplications();
 
         return String.format(
                 "📊 Статистика заявок:\n" +
@@ -133,8 +314,9 @@ public class CreditApplicationService {
     }
 
     // Поиск заявок по сумме
+    @Transactional(readOnly = true)
     public List<CreditApplication> getApplicationsByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
-        System.out.println("🔍 Поиск заявок по сумме от " + minAmount + " до " + maxAmount);
+        log.debug(LogMarkers.SAMPLED, "Поиск заявок по сумме от {} до {}", minAmount, maxAmount);
         return creditApplicationRepository.findByAmountBetween(minAmount, maxAmount);
     }
 }
\ No newline at end of file
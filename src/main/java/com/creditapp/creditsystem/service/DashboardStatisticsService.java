@@ -0,0 +1,87 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.DashboardStatistics;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import com.creditapp.creditsystem.repository.ClientRepository;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Сводная статистика по клиентам и заявкам
+ * Загружается двумя запросами (GROUP BY status и COUNT клиентов) и кешируется на короткое время,
+ * чтобы просмотры главной страницы и дашборда не нагружали БД
+ */
+@Service
+public class DashboardStatisticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatisticsService.class);
+
+    @Autowired
+    private CreditApplicationRepository creditApplicationRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Оба запроса выполняются в одной транзакции только для чтения (на реплике, если она настроена)
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    // Время жизни снимка статистики в миллисекундах
+    @Value("${dashboard.statistics.ttl-ms:5000}")
+    private long ttlMillis;
+
+    private volatile DashboardStatistics snapshot;
+    private volatile long snapshotExpiresAt;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // Получение статистики (из снимка, если он еще не устарел)
+    public DashboardStatistics getStatistics() {
+        DashboardStatistics current = snapshot;
+        if (current != null && System.currentTimeMillis() < snapshotExpiresAt) {
+            return current;
+        }
+        synchronized (this) {
+            // Пока один поток обновляет снимок, остальные ждут его результата, а не идут в БД
+            if (snapshot != null && System.currentTimeMillis() < snapshotExpiresAt) {
+                return snapshot;
+            }
+            DashboardStatistics loaded = readOnlyTransactionTemplate.execute(status -> load());
+            snapshot = loaded;
+            snapshotExpiresAt = System.currentTimeMillis() + ttlMillis;
+            return loaded;
+        }
+    }
+
+    // Сброс снимка (следующий запрос загрузит свежие данные)
+    public void invalidate() {
+        snapshotExpiresAt = 0;
+    }
+
+    private DashboardStatistics load() {
+        log.debug("Загрузка статистики из БД");
+        Map<ApplicationStatus, Long> counts = new EnumMap<>(ApplicationStatus.class);
+        for (Object[] row : creditApplicationRepository.countGroupedByStatus()) {
+            counts.put((ApplicationStatus) row[0], (Long) row[1]);
+        }
+        long totalClients = clientRepository.count();
+        return new DashboardStatistics(totalClients, counts, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,51 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ApplicationStatusEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Получатель событий в файл NDJSON (applications.outbox.sink=file): одна строка JSON на событие
+ * Файл только дописывается, порция сбрасывается на диск до отметки событий опубликованными;
+ * внешние потребители читают файл с последней обработанной строки (например, tail -F)
+ */
+@Component
+@ConditionalOnProperty(name = "applications.outbox.sink", havingValue = "file")
+public class FileStatusEventSink implements StatusEventSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${applications.outbox.file.path:outbox/application-status-events.ndjson}")
+    private Path path;
+
+    @Override
+    public synchronized void publish(List<ApplicationStatusEvent> events) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8);
+            for (ApplicationStatusEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+            writer.flush();
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.creditapp.creditsystem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ключи идемпотентности создания заявок (таблица application_idempotency_keys)
+ * Ключ связывается с ID созданной заявки в той же транзакции, что и вставка заявки;
+ * поиск идет по первичному ключу, устаревшие ключи периодически удаляются.
+ * Хранение в БД работает и при нескольких экземплярах приложения.
+ * На секционированную credit_applications нельзя сослаться внешним ключом (миграция V6),
+ * поэтому ключи заявок удаляются вместе с клиентом (releaseClientKeys), а остальные истекают по сроку хранения
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Максимальная длина ключа (размер колонки idempotency_key)
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final String FIND_SQL =
+            "SELECT application_id FROM application_idempotency_keys WHERE idempotency_key = ? AND created_at > ?";
+
+    // Устаревший ключ перезаписывается, действующий остается за первым запросом
+    // Условие смотрит только на строку ключа: проверка наличия заявки подзапросом выполнялась бы по снимку
+    // ожидавшего запроса, не видела бы заявку победителя и пропускала вторую заявку с тем же ключом
+    private static final String CLAIM_SQL =
+            "INSERT INTO application_idempotency_keys (idempotency_key, application_id, created_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET application_id = EXCLUDED.application_id, created_at = EXCLUDED.created_at " +
+            "WHERE application_idempotency_keys.created_at <= ?";
+
+    private static final String RELEASE_CLIENT_KEYS_SQL =
+            "DELETE FROM application_idempotency_keys WHERE application_id IN " +
+            "(SELECT id FROM credit_applications WHERE client_id = ?)";
+
+    private static final String CLEANUP_SQL =
+            "DELETE FROM application_idempotency_keys WHERE created_at <= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Срок хранения ключа: повтор в течение этого времени вернет исходную заявку
+    @Value("${applications.idempotency.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    // Проверка формата ключа
+    public void validateKey(String key) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("❌ Ключ идемпотентности длиннее " + MAX_KEY_LENGTH + " символов");
+        }
+    }
+
+    // ID заявки, созданной по действующему ключу
+    public Optional<Long> findApplicationId(String key) {
+        List<Long> ids = jdbcTemplate.queryForList(FIND_SQL, Long.class, key, expiredBefore());
+        return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(0));
+    }
+
+    /**
+     * Привязка ключа к созданной заявке (вызывается в транзакции вставки заявки)
+     * Если параллельный запрос с тем же ключом успел раньше, строка не меняется:
+     * вызывающий код должен откатить свою заявку и вернуть заявку победителя
+     *
+     * @return true если ключ закреплен за applicationId
+     */
+    public boolean claim(String key, Long applicationId) {
+        Timestamp expiredBefore = expiredBefore();
+        int updated = jdbcTemplate.update(CLAIM_SQL, key, applicationId, Timestamp.valueOf(LocalDateTime.now()), expiredBefore);
+        return updated > 0;
+    }
+
+    // Удаление ключей заявок клиента (вызывается в транзакции удаления клиента, до удаления его заявок)
+    public void releaseClientKeys(Long clientId) {
+        jdbcTemplate.update(RELEASE_CLIENT_KEYS_SQL, clientId);
+    }
+
+    // Периодическое удаление устаревших ключей
+    @Scheduled(fixedDelayString = "${applications.idempotency.cleanup-interval-ms:600000}")
+    public void cleanup() {
+        int removed = jdbcTemplate.update(CLEANUP_SQL, expiredBefore());
+        if (removed > 0) {
+            log.info("Удалено устаревших ключей идемпотентности: {}", removed);
+        }
+    }
+
+    private Timestamp expiredBefore() {
+        return Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+    }
+}
@@ -0,0 +1,46 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ApplicationStatusEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Получатель событий в памяти для локальной разработки и отладки (applications.outbox.sink=memory)
+ * Хранит последние applications.outbox.memory.capacity событий, доступные через GET /applications/events
+ */
+@Component
+@ConditionalOnProperty(name = "applications.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStatusEventSink implements StatusEventSink {
+
+    private final Deque<ApplicationStatusEvent> events = new ArrayDeque<>();
+
+    @Value("${applications.outbox.memory.capacity:1000}")
+    private int capacity;
+
+    @Override
+    public synchronized void publish(List<ApplicationStatusEvent> batch) {
+        for (ApplicationStatusEvent event : batch) {
+            if (events.size() >= capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    // Последние limit событий, новые в конце
+    public synchronized List<ApplicationStatusEvent> recent(int limit) {
+        List<ApplicationStatusEvent> result = new ArrayList<>(Math.min(limit, events.size()));
+        Iterator<ApplicationStatusEvent> iterator = events.descendingIterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(0, iterator.next());
+        }
+        return result;
+    }
+}
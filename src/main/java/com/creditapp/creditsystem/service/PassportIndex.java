@@ -0,0 +1,236 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.repository.ClientRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Определение ID клиента по паспорту без обращения к БД в типичных случаях
+ * Ограниченный LRU-кеш паспорт -> ID клиента (паспорт клиента не меняется) и фильтр Блума
+ * по всем паспортам, который отвечает "точно не зарегистрирован" для незнакомых паспортов.
+ * Фильтр строится при старте приложения; до этого все запросы идут в БД.
+ * Кеш и фильтр локальны для процесса и не знают о клиентах, созданных другим экземпляром приложения
+ * или SQL в обход ClientService. Поэтому отрицательный ответ фильтра окончательный только для проверки
+ * дубликата при создании клиента (isRegistered, дубликат все равно отсекает уникальный индекс),
+ * а findClientId при отрицательном ответе фильтра проверяет паспорт в БД.
+ * Кеш меняется только после фиксации транзакции, создавшей или удалившей клиента
+ */
+@Service
+public class PassportIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PassportIndex.class);
+
+    private static final String ALL_PASSPORTS_SQL = "SELECT passport_data FROM clients";
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Максимальное количество паспортов в кеше
+    @Value("${clients.passport-index.cache-size:100000}")
+    private int cacheSize;
+
+    // Ожидаемое количество клиентов (размер фильтра Блума)
+    @Value("${clients.passport-index.expected-clients:1000000}")
+    private long expectedClients;
+
+    // Допустимая доля ложных срабатываний фильтра Блума
+    @Value("${clients.passport-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private Map<String, Long> cache;
+
+    // Фильтр, отвечающий на запросы (null - еще не построен) и фильтр, строящийся в данный момент
+    private volatile PassportBloomFilter filter;
+    private PassportBloomFilter building;
+    private final Object filterLock = new Object();
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong filterNegatives = new AtomicLong();
+    private final AtomicLong filterFalsePositives = new AtomicLong();
+    private final AtomicLong filterStale = new AtomicLong();
+
+    // Счетчик удалений из кеша: ответ БД, прочитанный до удаления клиента, не должен вернуть его ID в кеш
+    private final AtomicLong removals = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        // LinkedHashMap в порядке доступа вытесняет давно не использованные паспорта
+        cache = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+
+        FunctionCounter.builder("clients.passport.lookups", cacheHits, AtomicLong::get)
+                .description("Поиск клиента по паспорту").tag("result", "cache_hit").register(meterRegistry);
+        FunctionCounter.builder("clients.passport.lookups", cacheMisses, AtomicLong::get)
+                .description("Поиск клиента по паспорту").tag("result", "cache_miss").register(meterRegistry);
+        FunctionCounter.builder("clients.passport.lookups", filterNegatives, AtomicLong::get)
+                .description("Поиск клиента по паспорту").tag("result", "bloom_negative").register(meterRegistry);
+        FunctionCounter.builder("clients.passport.bloom.false.positives", filterFalsePositives, AtomicLong::get)
+                .description("Паспорта, пропущенные фильтром Блума, но не найденные в БД").register(meterRegistry);
+        FunctionCounter.builder("clients.passport.bloom.stale", filterStale, AtomicLong::get)
+                .description("Паспорта, отсутствующие в фильтре Блума, но найденные в БД (клиент создан в обход этого экземпляра)")
+                .register(meterRegistry);
+        Gauge.builder("clients.passport.cache.size", this, PassportIndex::getCacheSize)
+                .description("Количество паспортов в кеше").register(meterRegistry);
+    }
+
+    // Построение фильтра Блума по всем паспортам после применения миграций и демонстрационных данных
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        PassportBloomFilter next = new PassportBloomFilter(expectedClients, falsePositiveRate);
+        synchronized (filterLock) {
+            building = next;
+        }
+        AtomicLong loaded = new AtomicLong();
+        jdbcTemplate.query(ALL_PASSPORTS_SQL, rs -> {
+            next.add(rs.getString(1));
+            loaded.incrementAndGet();
+        });
+        synchronized (filterLock) {
+            filter = next;
+            building = null;
+        }
+        log.atInfo().addKeyValue("passports", loaded.get()).addKeyValue("elapsedMs", (System.nanoTime() - started) / 1_000_000)
+                .log("Фильтр паспортов построен");
+    }
+
+    // ID клиента по паспорту: кеш, затем БД; отрицательный ответ фильтра Блума тоже проверяется в БД
+    public Optional<Long> findClientId(String passportData) {
+        return lookup(passportData, false);
+    }
+
+    // Зарегистрирован ли паспорт: незнакомый паспорт отсекается фильтром Блума без запроса к БД
+    public boolean isRegistered(String passportData) {
+        return lookup(passportData, true).isPresent();
+    }
+
+    private Optional<Long> lookup(String passportData, boolean trustFilter) {
+        if (passportData == null) {
+            return Optional.empty();
+        }
+        PassportBloomFilter current = filter;
+        boolean filterNegative = current != null && !current.mightContain(passportData);
+        if (filterNegative) {
+            filterNegatives.incrementAndGet();
+            if (trustFilter) {
+                return Optional.empty();
+            }
+        }
+
+        Long cached;
+        synchronized (cache) {
+            cached = cache.get(passportData);
+        }
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            return Optional.of(cached);
+        }
+
+        cacheMisses.incrementAndGet();
+        long removalsBefore = removals.get();
+        Optional<Long> clientId = clientRepository.findIdByPassportData(passportData);
+        if (clientId.isPresent()) {
+            if (filterNegative) {
+                filterStale.incrementAndGet();
+                addToFilter(passportData);
+            }
+            synchronized (cache) {
+                if (removals.get() == removalsBefore) {
+                    cache.put(passportData, clientId.get());
+                }
+            }
+        } else if (current != null && !filterNegative) {
+            filterFalsePositives.incrementAndGet();
+        }
+        return clientId;
+    }
+
+    /**
+     * Регистрация созданного клиента; clientId = null - добавить только в фильтр (ID неизвестен)
+     * Паспорт сразу добавляется в фильтр (лишний паспорт дает только ложное срабатывание),
+     * а в кеш - после фиксации транзакции: откаченный клиент не должен остаться в кеше
+     */
+    public void register(String passportData, Long clientId) {
+        addToFilter(passportData);
+        if (clientId != null) {
+            afterCommit(() -> {
+                synchronized (cache) {
+                    cache.put(passportData, clientId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Удаление клиента: паспорт убирается из кеша после фиксации удаления
+     * (в фильтре Блума остается как ложное срабатывание). До фиксации строка клиента еще видна,
+     * и поиск вернул бы его ID обратно в кеш
+     */
+    public void unregister(String passportData) {
+        afterCommit(() -> {
+            synchronized (cache) {
+                removals.incrementAndGet();
+                cache.remove(passportData);
+            }
+        });
+    }
+
+    private void addToFilter(String passportData) {
+        synchronized (filterLock) {
+            if (building != null) {
+                building.add(passportData);
+            }
+            if (filter != null) {
+                filter.add(passportData);
+            }
+        }
+    }
+
+    // Выполнение после фиксации текущей транзакции (без транзакции - сразу)
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
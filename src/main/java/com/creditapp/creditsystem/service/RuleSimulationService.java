@@ -0,0 +1,173 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.RuleSimulationReport;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import com.creditapp.creditsystem.entity.ScoringRule;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Симуляция кандидатного набора правил скоринга на исторических заявках
+ * Заявки с принятым решением (APPROVED/REJECTED) читаются курсором порциями фиксированного размера,
+ * каждая порция скорится параллельно в ForkJoinPool, в памяти находится только одна порция и сводный отчет
+ */
+@Service
+public class RuleSimulationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleSimulationService.class);
+
+    // Количество более ранних заявок клиента считается оконной функцией в том же запросе:
+    // RANK() - 1 = число заявок клиента со строго меньшей датой создания, плюс заявки архивных месяцев (V9)
+    private static final String HISTORY_SQL =
+            "SELECT id, amount, status, score, previous_applications + COALESCE((" +
+            "    SELECT SUM(h.applications) FROM archived_application_counts h " +
+            "    WHERE h.client_id = history.client_id AND h.month < date_trunc('month', history.creation_date)" +
+            "  ), 0) AS previous_applications FROM (" +
+            "  SELECT id, client_id, creation_date, amount, status, score, " +
+            "         RANK() OVER (PARTITION BY client_id ORDER BY creation_date) - 1 AS previous_applications " +
+            "  FROM credit_applications" +
+            ") history WHERE status IN ('APPROVED', 'REJECTED')";
+
+    @Autowired
+    private ScoringRuleCompiler scoringRuleCompiler;
+
+    @Autowired
+    private ScoringService scoringService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Отдельные шаблоны: размер выборки и read-only не должны влиять на остальные запросы приложения
+    private JdbcTemplate cursorJdbcTemplate;
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    // Размер порции заявок, обрабатываемой параллельно
+    @Value("${scoring.simulation.batch-size:10000}")
+    private int batchSize;
+
+    // Количество строк, получаемых от PostgreSQL за один раз
+    @Value("${scoring.simulation.fetch-size:1000}")
+    private int fetchSize;
+
+    // Максимальное количество измененных решений в отчете
+    @Value("${scoring.simulation.flipped-limit:1000}")
+    private int flippedLimit;
+
+    @PostConstruct
+    public void init() {
+        cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        cursorJdbcTemplate.setFetchSize(fetchSize);
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    // Симуляция кандидатного набора правил (правила не сохраняются в БД)
+    public RuleSimulationReport simulate(List<ScoringRule> candidateRules) {
+        log.info("Симуляция набора из {} правил", candidateRules.size());
+        long started = System.nanoTime();
+
+        List<ScoringRule> activeRules = candidateRules.stream()
+                .filter(rule -> rule.getActive() == null || rule.getActive())
+                .toList();
+        ScoringProgram candidate = scoringRuleCompiler.compile(activeRules, -1);
+
+        RuleSimulationReport report = new RuleSimulationReport(flippedLimit);
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            List<HistoricalApplication> buffer = new ArrayList<>(batchSize);
+
+            // Курсор PostgreSQL работает только внутри транзакции (autocommit = false)
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                cursorJdbcTemplate.query(HISTORY_SQL, rs -> {
+                    buffer.add(new HistoricalApplication(
+                            rs.getLong("id"),
+                            rs.getBigDecimal("amount"),
+                            ApplicationStatus.valueOf(rs.getString("status")),
+                            (Integer) rs.getObject("score"),
+                            rs.getLong("previous_applications")));
+                    if (buffer.size() == batchSize) {
+                        report.merge(pool.invoke(new SimulationTask(buffer, 0, buffer.size(), candidate)));
+                        buffer.clear();
+                    }
+                });
+            });
+            if (!buffer.isEmpty()) {
+                report.merge(pool.invoke(new SimulationTask(buffer, 0, buffer.size(), candidate)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.atInfo().addKeyValue("applications", report.getTotalApplications())
+                .addKeyValue("approvalRateDelta", String.format("%+.4f", report.getApprovalRateDelta()))
+                .addKeyValue("elapsedMs", report.getElapsedMillis())
+                .log("Симуляция правил завершена");
+        return report;
+    }
+
+    /**
+     * Заявка из истории в минимальном для скоринга виде
+     */
+    private record HistoricalApplication(long id, BigDecimal amount, ApplicationStatus status,
+                                         Integer score, long previousApplications) {
+    }
+
+    /**
+     * Параллельная обработка диапазона порции: делится пополам до порога, затем считается последовательно
+     */
+    private class SimulationTask extends RecursiveTask<RuleSimulationReport> {
+
+        private static final int THRESHOLD = 1000;
+
+        private final List<HistoricalApplication> applications;
+        private final int from;
+        private final int to;
+        private final ScoringProgram candidate;
+
+        SimulationTask(List<HistoricalApplication> applications, int from, int to, ScoringProgram candidate) {
+            this.applications = applications;
+            this.from = from;
+            this.to = to;
+            this.candidate = candidate;
+        }
+
+        @Override
+        protected RuleSimulationReport compute() {
+            if (to - from <= THRESHOLD) {
+                RuleSimulationReport partial = new RuleSimulationReport(flippedLimit);
+                for (int i = from; i < to; i++) {
+                    HistoricalApplication application = applications.get(i);
+                    int score = candidate.score(application.amount(), application.previousApplications());
+                    partial.record(application.id(), application.status(), application.score(),
+                            scoringService.decide(score), score);
+                }
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(applications, from, middle, candidate);
+            left.fork();
+            RuleSimulationReport right = new SimulationTask(applications, middle, to, candidate).compute();
+            RuleSimulationReport result = left.join();
+            result.merge(right);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.entity.ApplicationStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Метрики скоринга (Micrometer, публикуются через /actuator/prometheus)
+ * Все счетчики создаются заранее или один раз на правило, поэтому запись метрик при скоринге не создает объектов
+ */
+@Component
+public class ScoringMetrics {
+
+    private static final BigDecimal LOW_AMOUNT_LIMIT = new BigDecimal("100000");
+    private static final BigDecimal HIGH_AMOUNT_LIMIT = new BigDecimal("500000");
+    private static final String[] AMOUNT_BANDS = {"up_to_100k", "100k_500k", "over_500k"};
+
+    private final MeterRegistry meterRegistry;
+
+    // Полное время расчета скоринга
+    private final Timer calculateTimer;
+
+    // Время этапов расчета: загрузка истории клиента и применение правил
+    private final Timer historyStageTimer;
+    private final Timer rulesStageTimer;
+
+    // Распределение итоговых скоров
+    private final DistributionSummary scoreSummary;
+
+    // Решения по диапазонам сумм: [0][band] - одобрено, [1][band] - отклонено
+    private final Counter[][] decisionCounters = new Counter[2][AMOUNT_BANDS.length];
+
+    // Срабатывания и промахи правил по ID правила
+    private final Map<Long, Counter> ruleHits = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> ruleMisses = new ConcurrentHashMap<>();
+
+    public ScoringMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.calculateTimer = Timer.builder("scoring.calculate")
+                .description("Время расчета скоринга заявки")
+                .register(meterRegistry);
+        this.historyStageTimer = Timer.builder("scoring.stage")
+                .description("Время этапов расчета скоринга")
+                .tag("stage", "history")
+                .register(meterRegistry);
+        this.rulesStageTimer = Timer.builder("scoring.stage")
+                .description("Время этапов расчета скоринга")
+                .tag("stage", "rules")
+                .register(meterRegistry);
+        this.scoreSummary = DistributionSummary.builder("scoring.score")
+                .description("Итоговый скор заявки")
+                .serviceLevelObjectives(10, 20, 30, 40, 50, 60, 70, 80, 90, 100)
+                .register(meterRegistry);
+        for (int band = 0; band < AMOUNT_BANDS.length; band++) {
+            decisionCounters[0][band] = decisionCounter(ApplicationStatus.APPROVED, AMOUNT_BANDS[band]);
+            decisionCounters[1][band] = decisionCounter(ApplicationStatus.REJECTED, AMOUNT_BANDS[band]);
+        }
+    }
+
+    public void recordCalculation(long nanos) {
+        calculateTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordHistoryStage(long nanos) {
+        historyStageTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRulesStage(long nanos) {
+        rulesStageTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordScore(int score) {
+        scoreSummary.record(score);
+    }
+
+    // Учет срабатывания (hit) или промаха (miss) правила
+    public void recordRule(CompiledScoringRule rule, boolean hit) {
+        Long ruleId = rule.getRuleId();
+        if (ruleId == null) {
+            return;
+        }
+        Map<Long, Counter> counters = hit ? ruleHits : ruleMisses;
+        Counter counter = counters.get(ruleId);
+        if (counter == null) {
+            counter = Counter.builder("scoring.rule.evaluations")
+                    .description("Применения правил скоринга")
+                    .tag("rule", String.valueOf(ruleId))
+                    .tag("result", hit ? "hit" : "miss")
+                    .register(meterRegistry);
+            counters.put(ruleId, counter);
+        }
+        counter.increment();
+    }
+
+    // Учет решения по заявке с разбивкой по диапазону суммы
+    public void recordDecision(ApplicationStatus status, BigDecimal amount) {
+        int band;
+        if (amount.compareTo(LOW_AMOUNT_LIMIT) <= 0) {
+            band = 0;
+        } else if (amount.compareTo(HIGH_AMOUNT_LIMIT) <= 0) {
+            band = 1;
+        } else {
+            band = 2;
+        }
+        decisionCounters[status == ApplicationStatus.APPROVED ? 0 : 1][band].increment();
+    }
+
+    private Counter decisionCounter(ApplicationStatus status, String band) {
+        return Counter.builder("scoring.decisions")
+                .description("Решения по заявкам по диапазонам сумм")
+                .tag("decision", status.name())
+                .tag("amount_band", band)
+                .register(meterRegistry);
+    }
+}
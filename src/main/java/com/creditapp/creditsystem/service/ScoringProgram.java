@@ -0,0 +1,61 @@
+package com.creditapp.creditsystem.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Скомпилированный набор активных правил скоринга
+ * Неизменяемый объект: хранится в памяти и заменяется целиком при изменении правил
+ */
+public final class ScoringProgram {
+
+    private final long version;
+    private final List<CompiledScoringRule> rules;
+    private final boolean requiresHistory;
+
+    public ScoringProgram(long version, List<CompiledScoringRule> rules) {
+        this.version = version;
+        this.rules = List.copyOf(rules);
+        this.requiresHistory = this.rules.stream().anyMatch(CompiledScoringRule::requiresHistory);
+    }
+
+    /**
+     * Версия набора правил (увеличивается при каждом изменении правил)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CompiledScoringRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Итоговый скор заявки по всем правилам набора (0-100)
+     *
+     * @param amount сумма заявки
+     * @param previousApplications количество более ранних заявок клиента
+     */
+    public int score(BigDecimal amount, long previousApplications) {
+        int totalScore = 0;
+        for (CompiledScoringRule rule : rules) {
+            totalScore += rule.apply(amount, previousApplications);
+        }
+        return clamp(totalScore);
+    }
+
+    /**
+     * Ограничение скора диапазоном 0-100
+     */
+    public static int clamp(int totalScore) {
+        return Math.max(0, Math.min(100, totalScore));
+    }
+
+    /**
+     * Нужна ли хотя бы одному правилу история заявок клиента
+     * Если нет - количество предыдущих заявок можно не вычислять
+     */
+    public boolean requiresHistory() {
+        return requiresHistory;
+    }
+}
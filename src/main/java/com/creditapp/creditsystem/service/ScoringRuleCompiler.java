@@ -0,0 +1,84 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.entity.ScoringRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Компилятор правил скоринга
+ * Разбирает текстовое условие ScoringRule в типизированный предикат CompiledScoringRule
+ */
+@Component
+public class ScoringRuleCompiler {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoringRuleCompiler.class);
+
+    private static final Pattern AMOUNT_GREATER_THAN = Pattern.compile("сумма заявки\\s*>\\s*(\\d[\\d ]*)");
+    private static final Pattern AMOUNT_BETWEEN = Pattern.compile("сумма заявки\\s+между\\s+(\\d[\\d ]*?)\\s+и\\s+(\\d[\\d ]*)");
+    private static final Pattern AMOUNT_LESS_THAN = Pattern.compile("сумма заявки\\s*<\\s*(\\d[\\d ]*)");
+    private static final String FIRST_CREDIT = "первый кредит";
+    private static final String REPEAT_CREDIT = "второй и более кредит";
+
+    // Компиляция набора правил в программу скоринга
+    public ScoringProgram compile(List<ScoringRule> rules, long version) {
+        List<CompiledScoringRule> compiled = new ArrayList<>(rules.size());
+        for (ScoringRule rule : rules) {
+            compiled.add(compile(rule));
+        }
+        return new ScoringProgram(version, compiled);
+    }
+
+    // Компиляция одного правила
+    public CompiledScoringRule compile(ScoringRule rule) {
+        String condition = rule.getConditionDescription() == null
+                ? ""
+                : rule.getConditionDescription().toLowerCase(Locale.ROOT);
+        int points = rule.getPoints() != null ? rule.getPoints() : 0;
+
+        Matcher matcher = AMOUNT_GREATER_THAN.matcher(condition);
+        if (matcher.find()) {
+            return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                    CompiledScoringRule.ConditionType.AMOUNT_GREATER_THAN, parseAmount(matcher.group(1)), null);
+        }
+
+        matcher = AMOUNT_BETWEEN.matcher(condition);
+        if (matcher.find()) {
+            return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                    CompiledScoringRule.ConditionType.AMOUNT_BETWEEN,
+                    parseAmount(matcher.group(1)), parseAmount(matcher.group(2)));
+        }
+
+        // Граница включается, чтобы сумма на границе попадала ровно в один диапазон (как и раньше)
+        matcher = AMOUNT_LESS_THAN.matcher(condition);
+        if (matcher.find()) {
+            return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                    CompiledScoringRule.ConditionType.AMOUNT_AT_MOST, null, parseAmount(matcher.group(1)));
+        }
+
+        if (condition.contains(FIRST_CREDIT)) {
+            return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                    CompiledScoringRule.ConditionType.FIRST_CREDIT, null, null);
+        }
+
+        if (condition.contains(REPEAT_CREDIT)) {
+            return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                    CompiledScoringRule.ConditionType.REPEAT_CREDIT, null, null);
+        }
+
+        log.warn("Условие правила '{}' не распознано: {}", rule.getRuleName(), rule.getConditionDescription());
+        return new CompiledScoringRule(rule.getId(), rule.getRuleName(), points,
+                CompiledScoringRule.ConditionType.UNKNOWN, null, null);
+    }
+
+    private BigDecimal parseAmount(String value) {
+        return new BigDecimal(value.replace(" ", ""));
+    }
+}
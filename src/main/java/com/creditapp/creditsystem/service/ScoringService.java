@@ -1,80 +1,173 @@
 package com.creditapp.creditsystem.service;
 
+import com.creditapp.creditsystem.config.HibernateCacheConfig;
+import com.creditapp.creditsystem.entity.ApplicationStatus;
 import com.creditapp.creditsystem.entity.CreditApplication;
 import com.creditapp.creditsystem.entity.ScoringRule;
+import com.creditapp.creditsystem.entity.ScoringRulesChangedEvent;
+import com.creditapp.creditsystem.logging.LogMarkers;
+import com.creditapp.creditsystem.repository.CreditApplicationRepository;
 import com.creditapp.creditsystem.repository.ScoringRuleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ScoringService {
 
+    private static final Logger log = LoggerFactory.getLogger(ScoringService.class);
+
+    // Минимальный скор для одобрения заявки
+    public static final int APPROVAL_THRESHOLD = 60;
+
     @Autowired
     private ScoringRuleRepository scoringRuleRepository;
 
+    @Autowired
+    private ScoringRuleCompiler scoringRuleCompiler;
+
+    @Autowired
+    private CreditApplicationRepository creditApplicationRepository;
+
+    @Autowired
+    private ScoringMetrics scoringMetrics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Скомпилированный набор активных правил (null - нужно перестроить)
+    private volatile ScoringProgram program;
+
+    // Версия правил, увеличивается при каждом изменении через ScoringRuleRepository
+    private final AtomicLong rulesVersion = new AtomicLong();
+
     // Расчет скоринга для заявки
     public Integer calculateScore(CreditApplication application) {
-        System.out.println("🎯 Расчет скоринга для заявки: " + application.getId());
+        long started = System.nanoTime();
 
-        int totalScore = 0;
+        // Набор правил читается один раз: сброс правил между проверкой истории и расчетом
+        // не должен применить правила по истории к previousApplications = 0
+        ScoringProgram currentProgram = getProgram();
+
+        // История клиента нужна только правилам по кредитной истории - считаем ее один раз
+        long previousApplications = 0;
+        if (currentProgram.requiresHistory()) {
+            long historyStarted = System.nanoTime();
+            previousApplications = countPreviousApplications(application);
+            scoringMetrics.recordHistoryStage(System.nanoTime() - historyStarted);
+        }
+        int score = applyRules(currentProgram, application, previousApplications);
 
-        // Получаем все активные правила
-        List<ScoringRule> activeRules = scoringRuleRepository.findByActiveTrue();
+        scoringMetrics.recordCalculation(System.nanoTime() - started);
+        return score;
+    }
+
+    // Расчет скоринга для заявки с заранее известным количеством более ранних заявок клиента
+    // Используется пакетным скорингом, который считает историю для всей порции одним запросом;
+    // program - тот же набор правил, по которому решалось, нужна ли история
+    public Integer calculateScore(ScoringProgram program, CreditApplication application, long previousApplications) {
+        long started = System.nanoTime();
+        int score = applyRules(program, application, previousApplications);
+        scoringMetrics.recordCalculation(System.nanoTime() - started);
+        return score;
+    }
+
+    // Применение скомпилированных правил к заявке
+    private int applyRules(ScoringProgram currentProgram, CreditApplication application, long previousApplications) {
+        // Построчный разбор правил пишется только для выборки заявок, решение принимается один раз на заявку
+        boolean trace = log.isDebugEnabled(LogMarkers.SAMPLED);
+        if (trace) {
+            log.debug(LogMarkers.SAMPLED, "Расчет скоринга для заявки: {}", application.getId());
+        }
+
+        long started = System.nanoTime();
+        BigDecimal amount = application.getAmount();
+
+        int totalScore = 0;
 
         // Применяем каждое правило
-        for (ScoringRule rule : activeRules) {
-            int rulePoints = applyRule(rule, application);
+        for (CompiledScoringRule rule : currentProgram.getRules()) {
+            boolean hit = rule.matches(amount, previousApplications);
+            int rulePoints = hit ? rule.getPoints() : 0;
             totalScore += rulePoints;
+            scoringMetrics.recordRule(rule, hit);
 
-            System.out.println("📊 Правило '" + rule.getRuleName() + "': +" + rulePoints + " баллов");
+            if (trace) {
+                log.debug(LogMarkers.SAMPLED, "Правило '{}': +{} баллов", rule.getRuleName(), rulePoints);
+            }
         }
 
         // Ограничиваем счет 0-100
-        totalScore = Math.max(0, Math.min(100, totalScore));
+        totalScore = ScoringProgram.clamp(totalScore);
+        scoringMetrics.recordRulesStage(System.nanoTime() - started);
+        scoringMetrics.recordScore(totalScore);
 
-        System.out.println("🎯 Итоговый скор: " + totalScore);
+        if (trace) {
+            log.debug(LogMarkers.SAMPLED, "Итоговый скор заявки {}: {}", application.getId(), totalScore);
+        }
         return totalScore;
     }
 
-    // Применение конкретного правила
-    private int applyRule(ScoringRule rule, CreditApplication application) {
-        String condition = rule.getConditionDescription().toLowerCase();
-        BigDecimal amount = application.getAmount();
+    // Решение по заявке на основе скоринга
+    public ApplicationStatus decide(int score) {
+        return score >= APPROVAL_THRESHOLD ? ApplicationStatus.APPROVED : ApplicationStatus.REJECTED;
+    }
 
-        // Простая логика применения правил (в реальном приложении это было бы сложнее)
-        if (condition.contains("сумма заявки > 500000") && amount.compareTo(new BigDecimal("500000")) > 0) {
-            return rule.getPoints();
-        }
-        else if (condition.contains("сумма заявки между 100000 и 500000") &&
-                amount.compareTo(new BigDecimal("100000")) > 0 &&
-                amount.compareTo(new BigDecimal("500000")) <= 0) {
-            return rule.getPoints();
-        }
-        else if (condition.contains("сумма заявки < 100000") && amount.compareTo(new BigDecimal("100000")) <= 0) {
-            return rule.getPoints();
+    // Получение скомпилированного набора правил (загружается из БД только после изменения правил)
+    public ScoringProgram getProgram() {
+        ScoringProgram current = program;
+        if (current != null) {
+            return current;
         }
-        else if (condition.contains("первый кредит")) {
-            // Проверяем, есть ли у клиента другие заявки
-            long previousApplications = application.getClient().getApplications().stream()
-                    .filter(app -> app.getCreationDate().isBefore(application.getCreationDate()))
-                    .count();
-            if (previousApplications == 0) {
-                return rule.getPoints();
-            }
-        }
-        else if (condition.contains("второй и более кредит")) {
-            // Проверяем, есть ли у клиента другие заявки
-            long previousApplications = application.getClient().getApplications().stream()
-                    .filter(app -> app.getCreationDate().isBefore(application.getCreationDate()))
-                    .count();
-            if (previousApplications > 0) {
-                return rule.getPoints();
+        synchronized (this) {
+            current = program;
+            if (current == null) {
+                long version = rulesVersion.get();
+                current = scoringRuleCompiler.compile(scoringRuleRepository.findByActiveTrue(), version);
+                // Если правила изменились во время загрузки - не кешируем устаревший набор
+                if (rulesVersion.get() == version) {
+                    program = current;
+                }
+                log.info("Правила скоринга скомпилированы: {} (версия {})", current.getRules().size(), version);
             }
+            return current;
         }
+    }
+
+    // Сброс скомпилированных правил после фиксации изменений ScoringRule
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(ScoringRulesChangedEvent event) {
+        // Изменение прошло через Hibernate, кеш второго уровня уже актуален
+        resetProgram();
+    }
+
+    // Принудительное перестроение набора правил (например, после массового изменения правил через SQL)
+    // Кеш второго уровня не видит изменений в обход Hibernate, поэтому правила и запрос активных правил сбрасываются
+    public void reloadRules() {
+        resetProgram();
+        entityManagerFactory.getCache().evict(ScoringRule.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(HibernateCacheConfig.ACTIVE_SCORING_RULES_REGION);
+    }
+
+    private void resetProgram() {
+        rulesVersion.incrementAndGet();
+        program = null;
+    }
 
-        return 0;
+    // Количество заявок клиента, поданных раньше текущей
+    // Один индексированный COUNT по (client_id, creation_date) вместо загрузки всех заявок клиента
+    // плюс сохраненные при архивации счетчики заявок за архивные месяцы
+    private long countPreviousApplications(CreditApplication application) {
+        Long clientId = application.getClient().getId();
+        return creditApplicationRepository.countByClientIdAndCreationDateBefore(clientId, application.getCreationDate())
+                + creditApplicationRepository.countArchivedApplicationsBefore(clientId, application.getCreationDate());
     }
-}
\ No newline at end of file
+}
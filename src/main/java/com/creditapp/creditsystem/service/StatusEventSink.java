@@ -0,0 +1,18 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.dto.ApplicationStatusEvent;
+
+import java.util.List;
+
+/**
+ * Получатель событий смены статуса заявок, в который ApplicationStatusOutboxRelay публикует outbox
+ * Реализация выбирается свойством applications.outbox.sink; для брокера сообщений достаточно добавить
+ * еще одну реализацию со своим значением свойства.
+ * Доставка "хотя бы один раз": если publish бросил исключение, порция будет отправлена повторно,
+ * поэтому получатели должны уметь отбрасывать дубликаты по id события
+ */
+public interface StatusEventSink {
+
+    // Публикация порции событий в порядке id; возврат без исключения означает, что порция принята
+    void publish(List<ApplicationStatusEvent> events) throws Exception;
+}
@@ -0,0 +1,56 @@
+-- Демонстрационные данные для разработки (подключаются через spring.flyway.locations=...,classpath:db/demo)
+-- Повторяемая миграция: выполняется после версионных и ничего не удаляет;
+-- клиенты добавляются по уникальному паспорту, заявки - только в пустую таблицу
+
+-- Тестовые клиенты
+INSERT INTO clients (first_name, last_name, passport_data, phone_number, email) VALUES
+('Варвара', 'Игнатьева', '4501123456', '+79161234567', 'varxvar@mail.ru'),
+('Наталья', 'Рыжкова', '4501654321', '+79167654321', 'gorynich@gmail.com'),
+('Олег', 'Козлов', '4501987654', '+79169874563', 'oleg.kozlov@yandex.ru'),
+('Виталий', 'Ушаков', '4501987987', '+79169874364', 'vitaliy@mail.ru'),
+('Анна', 'Смирнова', '4511234567', '+79161112233', 'anna.smirnova@mail.ru'),
+('Дмитрий', 'Попов', '4512345678', '+79162223344', 'dmitry.popov@gmail.com'),
+('Екатерина', 'Васильева', '4513456789', '+79163334455', 'ekaterina.vasileva@yandex.ru'),
+('Сергей', 'Петров', '4514567890', '+79164445566', 'sergey.petrov@mail.ru'),
+('Марина', 'Соколова', '4515678901', '+79165556677', 'marina.sokolova@gmail.com'),
+('Александр', 'Михайлов', '4516789012', '+79166667788', 'alexander.mikhailov@yandex.ru'),
+('Ольга', 'Новикова', '4517890123', '+79167778899', 'olga.novikova@mail.ru'),
+('Иван', 'Федоров', '4518901234', '+79168889900', 'ivan.fedorov@gmail.com'),
+('Татьяна', 'Морозова', '4519012345', '+79169990011', 'tatyana.morozova@yandex.ru'),
+('Павел', 'Волков', '4520123456', '+79161001122', 'pavel.volkov@mail.ru'),
+('Юлия', 'Алексеева', '4521234567', '+79162112233', 'yulia.alexeeva@gmail.com'),
+('Максим', 'Лебедев', '4522345678', '+79163223344', 'maxim.lebedev@yandex.ru'),
+('Надежда', 'Семенова', '4523456789', '+79164334455', 'nadezhda.semenova@mail.ru'),
+('Артем', 'Павлов', '4524567890', '+79165445566', 'artem.pavlov@gmail.com'),
+('Елена', 'Громова', '4525678901', '+79166556677', 'elena.gromova@yandex.ru')
+ON CONFLICT (passport_data) DO NOTHING;
+
+-- Секция для дат тестовых заявок (январь 2024)
+SELECT create_credit_applications_partition(DATE '2024-01-01');
+
+-- Тестовые кредитные заявки (клиент определяется по паспорту)
+INSERT INTO credit_applications (client_id, amount, status, creation_date, score)
+SELECT c.id, v.amount, v.status, v.creation_date, v.score
+FROM (VALUES
+    ('4501123456', 150000.00, 'APPROVED', TIMESTAMP '2024-01-15 10:00:00', 85),
+    ('4501654321', 750000.00, 'SCORING', TIMESTAMP '2024-01-16 11:30:00', CAST(NULL AS INTEGER)),
+    ('4501987654', 50000.00, 'REJECTED', TIMESTAMP '2024-01-14 09:15:00', 45),
+    ('4501987987', 300000.00, 'APPROVED', TIMESTAMP '2024-01-17 14:20:00', 78),
+    ('4511234567', 200000.00, 'APPROVED', TIMESTAMP '2024-01-18 09:30:00', 82),
+    ('4512345678', 450000.00, 'SCORING', TIMESTAMP '2024-01-18 10:15:00', CAST(NULL AS INTEGER)),
+    ('4513456789', 80000.00, 'REJECTED', TIMESTAMP '2024-01-19 11:45:00', 52),
+    ('4514567890', 600000.00, 'APPROVED', TIMESTAMP '2024-01-19 13:20:00', 88),
+    ('4515678901', 120000.00, 'NEW', TIMESTAMP '2024-01-20 08:50:00', CAST(NULL AS INTEGER)),
+    ('4516789012', 350000.00, 'APPROVED', TIMESTAMP '2024-01-20 15:30:00', 79),
+    ('4517890123', 90000.00, 'REJECTED', TIMESTAMP '2024-01-21 10:10:00', 48),
+    ('4518901234', 550000.00, 'SCORING', TIMESTAMP '2024-01-21 12:25:00', CAST(NULL AS INTEGER)),
+    ('4519012345', 250000.00, 'APPROVED', TIMESTAMP '2024-01-22 09:40:00', 81),
+    ('4520123456', 70000.00, 'NEW', TIMESTAMP '2024-01-22 14:15:00', CAST(NULL AS INTEGER)),
+    ('4521234567', 480000.00, 'APPROVED', TIMESTAMP '2024-01-23 11:05:00', 84),
+    ('4522345678', 95000.00, 'REJECTED', TIMESTAMP '2024-01-23 16:20:00', 50),
+    ('4523456789', 180000.00, 'SCORING', TIMESTAMP '2024-01-24 10:35:00', CAST(NULL AS INTEGER)),
+    ('4524567890', 420000.00, 'APPROVED', TIMESTAMP '2024-01-24 13:50:00', 80),
+    ('4525678901', 110000.00, 'NEW', TIMESTAMP '2024-01-25 08:25:00', CAST(NULL AS INTEGER))
+) AS v (passport_data, amount, status, creation_date, score)
+JOIN clients c ON c.passport_data = v.passport_data
+WHERE NOT EXISTS (SELECT 1 FROM credit_applications);
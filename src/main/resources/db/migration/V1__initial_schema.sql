@@ -1,9 +1,7 @@
--- Удаляем таблицы если они существуют (для чистого запуска)
-DROP TABLE IF EXISTS credit_applications CASCADE;
-DROP TABLE IF EXISTS clients CASCADE;
-DROP TABLE IF EXISTS scoring_rules CASCADE;
+-- Исходная схема: клиенты, кредитные заявки, скоринговые правила
+-- IF NOT EXISTS позволяет применить миграцию к базе, созданной прежним schema.sql (baseline-on-migrate)
 
--- Создаем таблицу clients (клиенты)
+-- Таблица clients (клиенты)
 CREATE TABLE IF NOT EXISTS clients (
     id BIGSERIAL PRIMARY KEY,
     first_name VARCHAR(100) NOT NULL,
@@ -14,7 +12,7 @@ CREATE TABLE IF NOT EXISTS clients (
     created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- Создаем таблицу credit_applications (кредитные заявки)
+-- Таблица credit_applications (кредитные заявки)
 CREATE TABLE IF NOT EXISTS credit_applications (
     id BIGSERIAL PRIMARY KEY,
     client_id BIGINT NOT NULL,
@@ -26,7 +24,7 @@ CREATE TABLE IF NOT EXISTS credit_applications (
     FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE
 );
 
--- Создаем таблицу scoring_rules (скоринговые правила)
+-- Таблица scoring_rules (скоринговые правила)
 CREATE TABLE IF NOT EXISTS scoring_rules (
     id BIGSERIAL PRIMARY KEY,
     rule_name VARCHAR(200) NOT NULL,
@@ -34,4 +32,3 @@ CREATE TABLE IF NOT EXISTS scoring_rules (
     points INTEGER NOT NULL,
     active BOOLEAN DEFAULT TRUE
 );
-
@@ -0,0 +1,31 @@
+-- Индексы кредитных заявок
+-- Отдельные индексы по client_id и status не создаются: их покрывают составные индексы,
+-- в которых эти колонки стоят первыми
+
+-- Заявки клиента и подсчет более ранних заявок клиента при скоринге
+CREATE INDEX IF NOT EXISTS idx_credit_applications_client_creation
+    ON credit_applications (client_id, creation_date);
+
+-- Заявки по статусу и keyset-пагинация заявок статуса
+CREATE INDEX IF NOT EXISTS idx_credit_applications_status_id
+    ON credit_applications (status, id);
+
+-- Статус + период создания, сортировка заявок статуса по дате
+CREATE INDEX IF NOT EXISTS idx_credit_applications_status_creation
+    ON credit_applications (status, creation_date);
+
+-- Период создания и сортировка по дате
+CREATE INDEX IF NOT EXISTS idx_credit_applications_creation_date
+    ON credit_applications (creation_date);
+
+-- Диапазон суммы и сортировка по сумме
+CREATE INDEX IF NOT EXISTS idx_credit_applications_amount
+    ON credit_applications (amount);
+
+-- Диапазон скоринга: частичный индекс, заявки без скоринга в него не попадают
+CREATE INDEX IF NOT EXISTS idx_credit_applications_score
+    ON credit_applications (score) WHERE score IS NOT NULL;
+
+-- Незавершенные заявки (NEW, SCORING) - небольшая часть таблицы, частичный индекс по дате создания
+CREATE INDEX IF NOT EXISTS idx_credit_applications_open_creation
+    ON credit_applications (creation_date) WHERE status IN ('NEW', 'SCORING');
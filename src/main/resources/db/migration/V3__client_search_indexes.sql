@@ -0,0 +1,10 @@
+-- Триграммный поиск клиентов (подстрока и опечатки) по имени, фамилии, паспорту и телефону
+-- Выражение индекса должно совпадать с выражением в ClientSearchService
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_clients_search_trgm
+    ON clients USING gin ((lower(first_name || ' ' || last_name || ' ' || passport_data || ' ' || coalesce(phone_number, ''))) gin_trgm_ops);
+
+-- Префиксный поиск по фамилии (запросы короче трех символов)
+CREATE INDEX IF NOT EXISTS idx_clients_last_name_prefix
+    ON clients (lower(last_name) text_pattern_ops);
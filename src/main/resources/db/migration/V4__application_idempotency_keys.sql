@@ -0,0 +1,11 @@
+-- Ключи идемпотентности создания заявок: повтор запроса с тем же ключом возвращает исходную заявку
+-- Поиск по первичному ключу, устаревшие ключи удаляются по индексу created_at
+CREATE TABLE IF NOT EXISTS application_idempotency_keys (
+    idempotency_key VARCHAR(100) PRIMARY KEY,
+    application_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (application_id) REFERENCES credit_applications(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_application_idempotency_keys_created
+    ON application_idempotency_keys (created_at);
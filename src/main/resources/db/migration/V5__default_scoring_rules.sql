@@ -0,0 +1,11 @@
+-- Скоринговые правила по умолчанию (только для пустой таблицы правил)
+INSERT INTO scoring_rules (rule_name, condition_description, points, active)
+SELECT rule_name, condition_description, points, active FROM (VALUES
+    (1, 'Высокий доход', 'Сумма заявки > 500000', 10, true),
+    (2, 'Средний доход', 'Сумма заявки между 100000 и 500000', 20, true),
+    (3, 'Низкий доход', 'Сумма заявки < 100000', 30, true),
+    (4, 'Новый клиент', 'Первый кредит у банка', 15, true),
+    (5, 'Постоянный клиент', 'Второй и более кредит', 25, true)
+) AS rules (position, rule_name, condition_description, points, active)
+WHERE NOT EXISTS (SELECT 1 FROM scoring_rules)
+ORDER BY position;
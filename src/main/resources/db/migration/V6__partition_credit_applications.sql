@@ -0,0 +1,96 @@
+-- Секционирование credit_applications по месяцам creation_date
+-- Запросы с диапазоном дат читают только секции этого диапазона (partition pruning),
+-- старые секции с принятыми решениями отсоединяются и переносятся в схему archive (ApplicationPartitionService)
+--
+-- Ограничения PostgreSQL для секционированных таблиц:
+--  * первичный ключ должен включать ключ секционирования: (id, creation_date)
+--  * внешний ключ на credit_applications(id) невозможен, поэтому ключи идемпотентности ссылаются на заявку без FK
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+ALTER TABLE application_idempotency_keys
+    DROP CONSTRAINT IF EXISTS application_idempotency_keys_application_id_fkey;
+
+-- Прежняя таблица переименовывается, ее индексы освобождают имена для новой таблицы
+ALTER TABLE credit_applications RENAME TO credit_applications_old;
+ALTER INDEX credit_applications_pkey RENAME TO credit_applications_old_pkey;
+DROP INDEX IF EXISTS idx_credit_applications_client_creation;
+DROP INDEX IF EXISTS idx_credit_applications_status_id;
+DROP INDEX IF EXISTS idx_credit_applications_status_creation;
+DROP INDEX IF EXISTS idx_credit_applications_creation_date;
+DROP INDEX IF EXISTS idx_credit_applications_amount;
+DROP INDEX IF EXISTS idx_credit_applications_score;
+DROP INDEX IF EXISTS idx_credit_applications_open_creation;
+
+CREATE TABLE credit_applications (
+    id BIGINT NOT NULL DEFAULT nextval('credit_applications_id_seq'),
+    client_id BIGINT NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'NEW',
+    creation_date TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    decision_date TIMESTAMP NULL,
+    score INTEGER NULL,
+    PRIMARY KEY (id, creation_date),
+    FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE
+) PARTITION BY RANGE (creation_date);
+
+-- Индексы создаются на родительской таблице и автоматически на каждой секции
+CREATE INDEX idx_credit_applications_client_creation
+    ON credit_applications (client_id, creation_date);
+
+CREATE INDEX idx_credit_applications_status_id
+    ON credit_applications (status, id);
+
+CREATE INDEX idx_credit_applications_status_creation
+    ON credit_applications (status, creation_date);
+
+CREATE INDEX idx_credit_applications_creation_date
+    ON credit_applications (creation_date);
+
+CREATE INDEX idx_credit_applications_amount
+    ON credit_applications (amount);
+
+CREATE INDEX idx_credit_applications_score
+    ON credit_applications (score) WHERE score IS NOT NULL;
+
+CREATE INDEX idx_credit_applications_open_creation
+    ON credit_applications (creation_date) WHERE status IN ('NEW', 'SCORING');
+
+-- Создание месячной секции, если ее еще нет; используется миграциями и ApplicationPartitionService
+CREATE OR REPLACE FUNCTION create_credit_applications_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := 'credit_applications_p' || to_char(range_start, 'YYYYMM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF credit_applications FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, range_start, (range_start + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END
+$$ LANGUAGE plpgsql;
+
+-- Месячные секции от первой заявки до трех месяцев вперед; дальше секции создает ApplicationPartitionService
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT MIN(creation_date) FROM credit_applications_old), CURRENT_TIMESTAMP))::date;
+    last_month DATE := (date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        PERFORM create_credit_applications_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END
+$$;
+
+-- Заявки вне созданных секций (например, с датой далеко в будущем) попадают в секцию по умолчанию
+CREATE TABLE credit_applications_default PARTITION OF credit_applications DEFAULT;
+
+INSERT INTO credit_applications (id, client_id, amount, status, creation_date, decision_date, score)
+SELECT id, client_id, amount, status, COALESCE(creation_date, CURRENT_TIMESTAMP), decision_date, score
+FROM credit_applications_old;
+
+-- Последовательность ID переходит к новой таблице
+ALTER SEQUENCE credit_applications_id_seq OWNED BY NONE;
+DROP TABLE credit_applications_old;
+ALTER SEQUENCE credit_applications_id_seq OWNED BY credit_applications.id;
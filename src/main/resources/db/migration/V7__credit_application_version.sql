@@ -0,0 +1,3 @@
+-- Версия заявки для оптимистичной блокировки (@Version в CreditApplication)
+-- Каждое изменение заявки увеличивает версию; изменение по устаревшей версии отклоняется
+ALTER TABLE credit_applications ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
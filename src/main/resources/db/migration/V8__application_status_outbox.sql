@@ -0,0 +1,46 @@
+-- Outbox событий смены статуса заявок
+-- Событие записывается триггером в той же транзакции, что и изменение заявки, поэтому его не теряет
+-- ни один способ записи (JPA, пакетный скоринг, массовая подача). Строки событий не изменяются,
+-- кроме отметки published_at, которую ставит ApplicationStatusOutboxRelay после публикации
+CREATE TABLE application_status_events (
+    id BIGSERIAL PRIMARY KEY,
+    application_id BIGINT NOT NULL,
+    client_id BIGINT NOT NULL,
+    old_status VARCHAR(20) NULL,
+    new_status VARCHAR(20) NOT NULL,
+    amount DECIMAL(15,2) NOT NULL,
+    score INTEGER NULL,
+    occurred_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP NULL
+);
+
+-- Очередь неопубликованных событий для ретранслятора
+CREATE INDEX idx_application_status_events_unpublished
+    ON application_status_events (id) WHERE published_at IS NULL;
+
+-- Удаление старых опубликованных событий
+CREATE INDEX idx_application_status_events_published
+    ON application_status_events (published_at) WHERE published_at IS NOT NULL;
+
+-- Создание заявки (old_status = NULL) и каждое фактическое изменение статуса
+CREATE OR REPLACE FUNCTION record_application_status_event() RETURNS trigger AS $$
+DECLARE
+    previous_status VARCHAR(20);
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        previous_status := NULL;
+    ELSIF NEW.status IS NOT DISTINCT FROM OLD.status THEN
+        RETURN NULL;
+    ELSE
+        previous_status := OLD.status;
+    END IF;
+
+    INSERT INTO application_status_events (application_id, client_id, old_status, new_status, amount, score, occurred_at)
+    VALUES (NEW.id, NEW.client_id, previous_status, NEW.status, NEW.amount, NEW.score, clock_timestamp());
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_credit_applications_status_event
+    AFTER INSERT OR UPDATE OF status ON credit_applications
+    FOR EACH ROW EXECUTE FUNCTION record_application_status_event();
@@ -0,0 +1,28 @@
+-- Количество заявок клиентов в архивных секциях credit_applications (по месяцам)
+-- Архивная секция больше не видна запросам к заявкам, а скорингу нужна полная история клиента:
+-- число его более ранних заявок = заявки в подключенных секциях + архивные месяцы до месяца заявки.
+-- Строки добавляет ApplicationPartitionService в той же транзакции, что и перенос секции в архив
+CREATE TABLE archived_application_counts (
+    client_id BIGINT NOT NULL,
+    month DATE NOT NULL,
+    applications BIGINT NOT NULL,
+    PRIMARY KEY (client_id, month),
+    FOREIGN KEY (client_id) REFERENCES clients(id) ON DELETE CASCADE
+);
+
+-- Секции, перенесенные в архив до этой миграции
+DO $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+        WHERE n.nspname = 'archive' AND c.relkind = 'r' AND c.relname ~ '^credit_applications_p[0-9]{6}$'
+    LOOP
+        EXECUTE format(
+            'INSERT INTO archived_application_counts (client_id, month, applications) ' ||
+            'SELECT a.client_id, %L::date, COUNT(*) FROM archive.%I a ' ||
+            'WHERE EXISTS (SELECT 1 FROM clients c WHERE c.id = a.client_id) GROUP BY a.client_id',
+            to_date(substring(partition_name FROM '[0-9]{6}$'), 'YYYYMM'), partition_name);
+    END LOOP;
+END $$;
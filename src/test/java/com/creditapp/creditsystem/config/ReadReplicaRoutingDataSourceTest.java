@@ -0,0 +1,108 @@
+package com.creditapp.creditsystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+	private final DataSource primary = mock(DataSource.class);
+	private final DataSource replica = mock(DataSource.class);
+	private final JdbcTemplate replicaJdbcTemplate = mock(JdbcTemplate.class);
+	private final AtomicLong now = new AtomicLong();
+	private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaJdbcTemplate, 1000, 2000, now::get);
+	private final ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(primary, replica, monitor);
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+	}
+
+	@Test
+	void readsFromPrimaryUntilLagIsChecked() throws SQLException {
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void readsFromReplicaWithinLagTolerance() throws SQLException {
+		when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_SQL, Long.class)).thenReturn(200L);
+		monitor.check();
+
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenReplicaLagsOrFails() throws SQLException {
+		when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_SQL, Long.class)).thenReturn(200L, 5000L);
+		monitor.check();
+		monitor.check();
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+
+		when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_SQL, Long.class))
+				.thenThrow(new DataAccessResourceFailureException("replica is down"));
+		monitor.check();
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+		assertThat(monitor.getLagMs()).isEqualTo(-1);
+	}
+
+	@Test
+	void fallsBackToPrimaryWhenLagCheckIsOverdue() throws SQLException {
+		when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_SQL, Long.class)).thenReturn(200L);
+		monitor.check();
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(3000));
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(2000));
+		assertThat(routing.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void readsFromPrimaryWithinReadYourWritesWindow() throws Exception {
+		when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_SQL, Long.class)).thenReturn(200L);
+		monitor.check();
+		ReadYourWritesFilter filter = new ReadYourWritesFilter(5000);
+		AtomicReference<Connection> seen = new AtomicReference<>();
+
+		MockHttpServletRequest write = new MockHttpServletRequest("POST", "/applications");
+		MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+		filter.doFilter(write, writeResponse, (req, res) -> seen.set(connection()));
+		assertThat(seen.get()).isSameAs(primaryConnection);
+
+		MockHttpServletRequest read = new MockHttpServletRequest("GET", "/applications/1");
+		read.setCookies(writeResponse.getCookie(ReadYourWritesFilter.COOKIE));
+		filter.doFilter(read, new MockHttpServletResponse(), (req, res) -> seen.set(connection()));
+		assertThat(seen.get()).isSameAs(primaryConnection);
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/applications/1"), new MockHttpServletResponse(),
+				(req, res) -> seen.set(connection()));
+		assertThat(seen.get()).isSameAs(replicaConnection);
+		assertThat(routing.getConnection()).isSameAs(replicaConnection);
+	}
+
+	// Соединение, которое получил бы запрос внутри фильтра
+	private Connection connection() {
+		try {
+			return routing.getConnection();
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
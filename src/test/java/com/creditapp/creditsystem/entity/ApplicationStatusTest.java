@@ -0,0 +1,33 @@
+package com.creditapp.creditsystem.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationStatusTest {
+
+	@Test
+	void decisionsAreFinal() {
+		for (ApplicationStatus target : ApplicationStatus.values()) {
+			assertThat(ApplicationStatus.APPROVED.canTransitionTo(target)).isFalse();
+			assertThat(ApplicationStatus.REJECTED.canTransitionTo(target)).isFalse();
+		}
+		assertThat(ApplicationStatus.NEW.canTransitionTo(ApplicationStatus.SCORING)).isTrue();
+		assertThat(ApplicationStatus.SCORING.canTransitionTo(ApplicationStatus.NEW)).isTrue();
+	}
+
+	@Test
+	void applicationRejectsIllegalTransition() {
+		CreditApplication application = new CreditApplication(null, new BigDecimal("100000.00"));
+		application.setStatus(ApplicationStatus.SCORING);
+		application.setStatus(ApplicationStatus.REJECTED);
+
+		assertThat(application.getDecisionDate()).isNotNull();
+		assertThatThrownBy(() -> application.setStatus(ApplicationStatus.SCORING))
+				.hasMessageContaining("REJECTED → SCORING");
+		assertThat(application.getStatus()).isEqualTo(ApplicationStatus.REJECTED);
+	}
+}
@@ -0,0 +1,45 @@
+package com.creditapp.creditsystem.logging;
+
+import com.creditapp.creditsystem.entity.Client;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogMaskingTest {
+
+	@Test
+	void passportKeepsOnlySeries() {
+		assertThat(LogMasking.passport("4501123456")).isEqualTo("4501******");
+		assertThat(LogMasking.passport("45")).isEqualTo("****");
+		assertThat(new Client("Варвара", "Игнатьева", "4501123456").toString())
+				.contains("4501******")
+				.doesNotContain("123456");
+	}
+
+	@Test
+	void digitsAreMaskedInFreeText() {
+		assertThat(LogMasking.digits("Игнатьева 4501 123456")).isEqualTo("Игнатьева **** ******");
+		assertThat(LogMasking.digits(null)).isNull();
+	}
+
+	@Test
+	void requestIdIsPropagatedToWorkerThread() throws InterruptedException {
+		AtomicReference<String> seen = new AtomicReference<>();
+		MDC.put(CorrelationIdFilter.MDC_KEY, "req-1");
+		Runnable task;
+		try {
+			task = CorrelationIdFilter.withMdc(() -> seen.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+		} finally {
+			MDC.remove(CorrelationIdFilter.MDC_KEY);
+		}
+
+		Thread worker = new Thread(task);
+		worker.start();
+		worker.join();
+
+		assertThat(seen.get()).isEqualTo("req-1");
+	}
+}
@@ -0,0 +1,36 @@
+package com.creditapp.creditsystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PassportBloomFilterTest {
+
+	@Test
+	void neverRejectsAddedPassports() {
+		PassportBloomFilter filter = new PassportBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("4510 " + String.format("%06d", i));
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("4510 " + String.format("%06d", i))).isTrue();
+		}
+	}
+
+	@Test
+	void keepsFalsePositiveRateNearConfiguredValue() {
+		PassportBloomFilter filter = new PassportBloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("4510 " + String.format("%06d", i));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.mightContain("4611 " + String.format("%06d", i))) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(300);
+	}
+}
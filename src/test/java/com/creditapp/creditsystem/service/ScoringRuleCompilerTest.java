@@ -0,0 +1,51 @@
+package com.creditapp.creditsystem.service;
+
+import com.creditapp.creditsystem.entity.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoringRuleCompilerTest {
+
+	private final ScoringRuleCompiler compiler = new ScoringRuleCompiler();
+
+	@Test
+	void compilesAmountRulesWithSameBoundariesAsBefore() {
+		CompiledScoringRule high = compiler.compile(new ScoringRule("Высокий доход", "Сумма заявки > 500000", 10));
+		CompiledScoringRule middle = compiler.compile(new ScoringRule("Средний доход", "Сумма заявки между 100000 и 500000", 20));
+		CompiledScoringRule low = compiler.compile(new ScoringRule("Низкий доход", "Сумма заявки < 100000", 30));
+
+		assertThat(high.getType()).isEqualTo(CompiledScoringRule.ConditionType.AMOUNT_GREATER_THAN);
+		assertThat(middle.getType()).isEqualTo(CompiledScoringRule.ConditionType.AMOUNT_BETWEEN);
+		assertThat(low.getType()).isEqualTo(CompiledScoringRule.ConditionType.AMOUNT_AT_MOST);
+
+		assertThat(high.apply(new BigDecimal("500000.00"), 0)).isZero();
+		assertThat(high.apply(new BigDecimal("500000.01"), 0)).isEqualTo(10);
+		assertThat(middle.apply(new BigDecimal("500000.00"), 0)).isEqualTo(20);
+		assertThat(middle.apply(new BigDecimal("100000.00"), 0)).isZero();
+		assertThat(low.apply(new BigDecimal("100000.00"), 0)).isEqualTo(30);
+	}
+
+	@Test
+	void compilesHistoryRules() {
+		ScoringProgram program = compiler.compile(List.of(
+				new ScoringRule("Новый клиент", "Первый кредит у банка", 15),
+				new ScoringRule("Постоянный клиент", "Второй и более кредит", 25)), 1);
+
+		assertThat(program.requiresHistory()).isTrue();
+		assertThat(program.getRules().get(0).apply(BigDecimal.TEN, 0)).isEqualTo(15);
+		assertThat(program.getRules().get(0).apply(BigDecimal.TEN, 3)).isZero();
+		assertThat(program.getRules().get(1).apply(BigDecimal.TEN, 3)).isEqualTo(25);
+	}
+
+	@Test
+	void unknownConditionNeverMatches() {
+		CompiledScoringRule rule = compiler.compile(new ScoringRule("Доход", "Ежемесячный доход превышает 100 000 рублей", 5));
+
+		assertThat(rule.getType()).isEqualTo(CompiledScoringRule.ConditionType.UNKNOWN);
+		assertThat(rule.apply(new BigDecimal("1000000"), 0)).isZero();
+	}
+}